@@ -0,0 +1,66 @@
+package com.example.demo.util.crawl;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 사이트별 파서 성능 측정 (./gradlew jmh)
+ * - parse: html 문자열 -> Document 파싱 + 정보/해시태그 추출 (크롤링 1건의 CPU 비용)
+ * - extract: 이미 파싱된 Document 에서 정보/해시태그 추출만
+ * 측정 전에 fixture 기대값과 비교해서 파서가 깨졌으면 바로 실패
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LecturePageParserBenchmark {
+
+    @Param({"inflearn", "youtube", "nomadcoders", "spartacoding", "projectlion", "udemy", "fastcampus", "opentutorials"})
+    public String site;
+
+    private CrawlFixtures fixtures;
+    private String html;
+    private String url;
+    private Document document;
+    private Document base;
+
+    @Setup
+    public void setUp() {
+        fixtures = new CrawlFixtures();
+        html = fixtures.html(site);
+        url = fixtures.url(site);
+        document = fixtures.document(site);
+        base = fixtures.nomadcodersCourses();
+
+        List<String> mismatches = fixtures.verify(site);
+        if (!mismatches.isEmpty()) {
+            throw new IllegalStateException("fixture mismatch - " + mismatches);
+        }
+    }
+
+    @Benchmark
+    public CrawledLecture parse() {
+        return fixtures.parse(site, Jsoup.parse(html, url), base);
+    }
+
+    @Benchmark
+    public CrawledLecture extract() {
+        return fixtures.parse(site, document, base);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.demo.dto;
+
+import com.example.demo.util.SeekCursor;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// seek 페이징 응답 (전체 개수는 세지 않음 - COUNT 쿼리 없이 hasNext 만)
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    private String nextCursor; // 다음 페이지 요청 시 cursor 로 전달 (마지막 페이지면 null)
+    private boolean hasNext;
+
+    // fetched: size + 1 개까지 조회한 결과 (size 보다 많으면 다음 페이지가 있음)
+    // cursorOf: 마지막 항목으로 다음 cursor 만들기, mapper: 응답 DTO 로 변환
+    public static <E, T> CursorPage<T> of(List<E> fetched, int size, Function<E, SeekCursor> cursorOf, Function<List<E>, List<T>> mapper) {
+        boolean hasNext = fetched.size() > size;
+        List<E> page = hasNext ? fetched.subList(0, size) : fetched;
+        String nextCursor = hasNext ? cursorOf.apply(page.get(page.size() - 1)).encode() : null;
+        return new CursorPage<>(mapper.apply(page), nextCursor, hasNext);
+    }
+
+    public static <T> CursorPage<T> of(List<T> fetched, int size, Function<T, SeekCursor> cursorOf) {
+        return of(fetched, size, cursorOf, page -> page.stream().collect(Collectors.toList()));
+    }
+}
@@ -11,7 +11,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name="hashtags")
+@Table(name="hashtags", uniqueConstraints = @UniqueConstraint(name = "uk_hashtag_name", columnNames = "hashtagName")) // 이름 조회용 인덱스 겸 동시 생성 중복 방지
 @NoArgsConstructor
 @Getter
 @Setter
@@ -72,23 +72,7 @@ public class HashtagController {
         //lectureId 가 null 로 넘어가면 테스트용 크롤링이니까 실제 데이터베이스에 강의 저장 X
 
 
-        if(url.contains("nomadcoders")){
-            crawler.nomadcoders(url, lectureId);
-        }else if(url.contains("projectlion")){
-            crawler.projectlion(url, lectureId);
-        }else if(url.contains("udemy")){
-            crawler.udemy(url, lectureId);
-        }else if(url.contains("youtu")){
-            crawler.youtube(url, lectureId);
-        }else if(url.contains("fastcampus")){
-            crawler.fastcampus(url, lectureId);
-        }else if(url.contains("inflearn")){
-            crawler.inflearn(url, lectureId);
-        }else if(url.contains("spartacoding")){
-            crawler.spartaCoding(url, lectureId);
-        }else if(url.contains("opentutorials")){
-            crawler.codingEverybody(url, lectureId);
-        }else{
+        if(!crawler.crawl(url, lectureId)){
             return Response.BAD;
         }
 
@@ -0,0 +1,145 @@
+package com.example.demo.hashtag;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * 해시태그 사전 전체에 대한 Aho-Corasick 오토마톤
+ * 텍스트를 한 번만 훑어서 포함된 해시태그를 모두 찾음 (대소문자 무시)
+ * 생성 후에는 변경되지 않으므로 여러 크롤링 스레드가 동시에 사용해도 됨
+ * 새 해시태그가 생기면 plus() 로 새 matcher 를 만들어 통째로 교체 (copy-on-write)
+ */
+public class HashtagMatcher {
+    private static final int ROOT = 0;
+
+    private final List<String> names; // 사전 순서(= 해시태그 id 순서) 그대로 보관
+    private final List<Map<Character, Integer>> next = new ArrayList<>();
+    private final List<Integer> fail = new ArrayList<>();
+    private final List<int[]> outputs = new ArrayList<>(); // 해당 노드에서 끝나는 해시태그 인덱스 (fail 링크 쪽 출력 포함)
+
+    public HashtagMatcher(List<String> names) {
+        this.names = Collections.unmodifiableList(new ArrayList<>(names));
+        build();
+    }
+
+    public static HashtagMatcher empty() {
+        return new HashtagMatcher(Collections.emptyList());
+    }
+
+    // 기존 사전 뒤에 해시태그를 추가한 새 matcher 반환 (자기 자신은 변경하지 않음)
+    public HashtagMatcher plus(List<String> added) {
+        List<String> merged = new ArrayList<>(names);
+        merged.addAll(added);
+        return new HashtagMatcher(merged);
+    }
+
+    public boolean contains(String name) {
+        return names.contains(name);
+    }
+
+    public int size() {
+        return names.size();
+    }
+
+    /**
+     * text 에 포함된 해시태그를 사전 순서대로 최대 limit 개 반환
+     * 기존 getAllHashtags().stream().filter(contains).limit() 와 같은 결과
+     */
+    public List<String> findIn(String text, int limit) {
+        List<String> found = new ArrayList<>();
+        if (text == null || limit <= 0 || names.isEmpty()) {
+            return found;
+        }
+
+        BitSet matched = new BitSet(names.size());
+        int state = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            Integer target = next.get(state).get(c);
+            while (target == null && state != ROOT) {
+                state = fail.get(state);
+                target = next.get(state).get(c);
+            }
+            state = target == null ? ROOT : target;
+            for (int idx : outputs.get(state)) {
+                matched.set(idx);
+            }
+        }
+
+        for (int idx = matched.nextSetBit(0); idx >= 0 && found.size() < limit; idx = matched.nextSetBit(idx + 1)) {
+            found.add(names.get(idx));
+        }
+        return found;
+    }
+
+    private void build() {
+        addNode();
+        List<List<Integer>> terminal = new ArrayList<>();
+        terminal.add(new ArrayList<>());
+
+        // 1. trie 구성
+        for (int idx = 0; idx < names.size(); idx++) {
+            String name = names.get(idx);
+            if (name == null || name.isEmpty()) { // 빈 해시태그는 모든 텍스트에 매칭되므로 제외
+                continue;
+            }
+            int state = ROOT;
+            for (int i = 0; i < name.length(); i++) {
+                char c = Character.toLowerCase(name.charAt(i));
+                Integer child = next.get(state).get(c);
+                if (child == null) {
+                    child = addNode();
+                    terminal.add(new ArrayList<>());
+                    next.get(state).put(c, child);
+                }
+                state = child;
+            }
+            terminal.get(state).add(idx);
+        }
+
+        // 2. BFS 로 fail 링크 연결, 출력은 fail 노드 것까지 합쳐둠
+        Queue<Integer> queue = new ArrayDeque<>();
+        outputs.set(ROOT, toArray(terminal.get(ROOT)));
+        for (int child : next.get(ROOT).values()) {
+            fail.set(child, ROOT);
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            List<Integer> out = terminal.get(state);
+            for (int idx : outputs.get(fail.get(state))) {
+                out.add(idx);
+            }
+            outputs.set(state, toArray(out));
+
+            for (Map.Entry<Character, Integer> edge : next.get(state).entrySet()) {
+                int child = edge.getValue();
+                int f = fail.get(state);
+                Integer target = next.get(f).get(edge.getKey());
+                while (target == null && f != ROOT) {
+                    f = fail.get(f);
+                    target = next.get(f).get(edge.getKey());
+                }
+                fail.set(child, target == null ? ROOT : target);
+                queue.add(child);
+            }
+        }
+    }
+
+    private int addNode() {
+        next.add(new HashMap<>());
+        fail.add(ROOT);
+        outputs.add(new int[0]);
+        return next.size() - 1;
+    }
+
+    private static int[] toArray(List<Integer> list) {
+        return list.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
@@ -2,8 +2,10 @@ package com.example.demo.hashtag.repository;
 
 import com.example.demo.hashtag.Hashtag;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CustomHashtagRepository {
     List<Hashtag> findByKeyword(String keyword);
+    void insertHashtags(Collection<String> hashtagNames);
 }
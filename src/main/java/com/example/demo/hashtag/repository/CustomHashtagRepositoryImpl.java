@@ -2,14 +2,18 @@ package com.example.demo.hashtag.repository;
 import com.example.demo.hashtag.Hashtag;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Collectors;
 import static com.example.demo.hashtag.QHashtag.hashtag;
 
 @Repository
 @RequiredArgsConstructor
 public class CustomHashtagRepositoryImpl implements CustomHashtagRepository{
     private final JPAQueryFactory jpaQueryFactory;
+    private final JdbcTemplate jdbcTemplate;
 
     @Override
     public List<Hashtag> findByKeyword(String keyword){
@@ -19,4 +23,11 @@ public class CustomHashtagRepositoryImpl implements CustomHashtagRepository{
                 .fetch();
         return hashtagList;
     }
+
+    // 해시태그 여러 개를 JDBC batch 로 한 번에 insert (이미 있는 이름이면 unique 제약 위반 -> DuplicateKeyException)
+    @Override
+    public void insertHashtags(Collection<String> hashtagNames){
+        jdbcTemplate.batchUpdate("insert into hashtags (hashtag_name) values (?)",
+                hashtagNames.stream().map(name -> new Object[]{name}).collect(Collectors.toList()));
+    }
 }
@@ -3,9 +3,12 @@ package com.example.demo.hashtag.repository;
 import com.example.demo.hashtag.Hashtag;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface HashtagRepository extends JpaRepository<Hashtag, Long>, CustomHashtagRepository {
     Optional<Hashtag> findByHashtagName(String hashtagName);
     Optional<Hashtag> findById(Long hashtagId);
+    List<Hashtag> findByHashtagNameIn(Collection<String> hashtagNames);
 }
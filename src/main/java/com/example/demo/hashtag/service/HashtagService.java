@@ -1,17 +1,39 @@
 package com.example.demo.hashtag.service;
 
 import com.example.demo.hashtag.Hashtag;
+import com.example.demo.hashtag.HashtagMatcher;
 import com.example.demo.hashtag.repository.HashtagRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class HashtagService {
+    private static final int MAX_RESOLVE_ATTEMPTS = 3;
+
     private final HashtagRepository hashtagRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    // 크롤러 해시태그 추출용 오토마톤, 새 해시태그가 생길 때만 새로 만들어 교체
+    private volatile HashtagMatcher matcher;
 
     public List<Hashtag> getAllHashtags(){
         List<Hashtag> hashtags = hashtagRepository.findAll();
@@ -21,6 +43,7 @@ public class HashtagService {
 
     public long saveHashtag(Hashtag hashtag){
         Hashtag savedHashtag = hashtagRepository.save(hashtag);
+        registerNewHashtags(List.of(savedHashtag.getHashtagName()));
         return savedHashtag.getHashtagId();
     }
 
@@ -38,5 +61,123 @@ public class HashtagService {
         return hashtagRepository.findByKeyword(keyword);
     }
 
+    /**
+     * 해시태그 이름 목록 -> id (입력 순서 유지, 중복/빈 이름 제외, 대소문자만 다른 이름은 같은 id)
+     * IN 쿼리 한 번으로 조회하고, 없는 것만 batch insert 후 다시 IN 조회
+     * 다른 크롤링이 같은 해시태그를 동시에 만들어서 unique 제약에 걸리면 새 트랜잭션으로 다시 시도
+     * (새 트랜잭션이어야 다른 트랜잭션이 커밋한 해시태그가 보임)
+     */
+    public Map<String, Long> resolveHashtags(Collection<String> hashtagNames){
+        List<String> names = hashtagNames.stream()
+                .filter(name -> name != null && !name.trim().isEmpty())
+                .distinct()
+                .collect(Collectors.toList());
+        if(names.isEmpty()){
+            return new LinkedHashMap<>();
+        }
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        for(int attempt = 1; ; attempt++){
+            List<String> created = new ArrayList<>();
+            try {
+                Map<String, Long> resolved = transaction.execute(status -> {
+                    Map<String, Long> found = findHashtagIds(names);
+                    Set<String> seen = new HashSet<>();
+                    // 대소문자만 다른 이름은 처음 나온 것 하나만 생성 (대소문자 무시 collation 에서는 같은 unique 값이라 batch insert 가 매번 충돌)
+                    // 나머지 이름은 다시 조회할 때 대소문자 무시로 같은 id 를 받음
+                    List<String> missing = names.stream()
+                            .filter(name -> !found.containsKey(name))
+                            .filter(name -> seen.add(name.toLowerCase(Locale.ROOT)))
+                            .collect(Collectors.toList());
+                    if(missing.isEmpty()){
+                        return found;
+                    }
+                    hashtagRepository.insertHashtags(missing);
+                    created.addAll(missing);
+                    return findHashtagIds(names);
+                });
+                appendToMatcher(created); // 이미 커밋된 해시태그이므로 바로 반영
+                return resolved;
+            } catch (DuplicateKeyException e){
+                if(attempt >= MAX_RESOLVE_ATTEMPTS){
+                    throw e;
+                }
+            }
+        }
+    }
+
+    // 이름이 정확히 같은 것 우선, 없으면 대소문자만 다른 것 (DB collation 이 대소문자 무시인 경우)
+    private Map<String, Long> findHashtagIds(List<String> names){
+        Map<String, Long> exact = new HashMap<>();
+        Map<String, Long> ignoreCase = new HashMap<>();
+        for(Hashtag hashtag : hashtagRepository.findByHashtagNameIn(names)){
+            exact.putIfAbsent(hashtag.getHashtagName(), hashtag.getHashtagId());
+            ignoreCase.putIfAbsent(hashtag.getHashtagName().toLowerCase(Locale.ROOT), hashtag.getHashtagId());
+        }
+        Map<String, Long> found = new LinkedHashMap<>();
+        for(String name : names){
+            Long id = exact.containsKey(name) ? exact.get(name) : ignoreCase.get(name.toLowerCase(Locale.ROOT));
+            if(id != null){
+                found.put(name, id);
+            }
+        }
+        return found;
+    }
+
+    // text 안에 들어있는 해시태그를 해시태그 등록 순서대로 최대 needCount 개 반환 (대소문자 무시)
+    // 해시태그 테이블을 매번 읽지 않고 텍스트를 한 번만 훑음
+    public List<String> findHashtagsIn(String text, int needCount){
+        return getMatcher().findIn(text, needCount);
+    }
+
+    // 새로 생성된 해시태그를 matcher 에 반영
+    // 트랜잭션 안이면 커밋된 뒤에 반영 (롤백된 해시태그가 추출되지 않도록)
+    public void registerNewHashtags(Collection<String> hashtagNames){
+        if(hashtagNames.isEmpty()){
+            return;
+        }
+        if(TransactionSynchronizationManager.isSynchronizationActive()){
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    appendToMatcher(hashtagNames);
+                }
+            });
+        }else{
+            appendToMatcher(hashtagNames);
+        }
+    }
+
+    private HashtagMatcher getMatcher(){
+        HashtagMatcher current = matcher;
+        if(current != null){
+            return current;
+        }
+        synchronized (this){
+            if(matcher == null){
+                matcher = new HashtagMatcher(getAllHashtags()
+                        .stream()
+                        .map(Hashtag::getHashtagName)
+                        .collect(Collectors.toList()));
+            }
+            return matcher;
+        }
+    }
+
+    private synchronized void appendToMatcher(Collection<String> hashtagNames){
+        if(matcher == null){ // 아직 한 번도 안 만들어졌으면 첫 사용 시 전체를 읽어서 만듦
+            return;
+        }
+        List<String> added = new ArrayList<>();
+        for(String name : hashtagNames){
+            if(!matcher.contains(name) && !added.contains(name)){
+                added.add(name);
+            }
+        }
+        if(!added.isEmpty()){
+            matcher = matcher.plus(added);
+        }
+    }
 
 }
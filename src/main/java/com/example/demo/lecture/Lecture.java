@@ -3,7 +3,9 @@ package com.example.demo.lecture;
 import com.example.demo.lectureHashtag.LectureHashtag;
 import com.example.demo.like.Like;
 import com.example.demo.review.Review;
+import com.example.demo.search.SearchIndexListener;
 import com.example.demo.user.domain.User;
+import com.example.demo.util.UrlCanonicalizer;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
@@ -11,15 +13,25 @@ import com.sun.istack.NotNull;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 import javax.persistence.*;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 @Entity
-@Table(name="lectures")
+@Table(name="lectures", indexes = {
+        @Index(name = "idx_lecture_canonical_url_hash", columnList = "canonicalUrlHash"),
+        // 정렬 목록용 (InnoDB 보조 인덱스 끝에 lecture_id 가 붙으므로 (값, id) 순서로 seek)
+        @Index(name = "idx_lecture_avg_rate", columnList = "avgRate"),
+        @Index(name = "idx_lecture_like_count", columnList = "likeCount"),
+        @Index(name = "idx_lecture_review_count", columnList = "reviewCount")
+})
 @Data
 @NoArgsConstructor
+@EntityListeners(SearchIndexListener.class) // 저장/수정/삭제 시 검색 인덱스 반영
+@DynamicUpdate // 카운터 컬럼은 bulk update 로만 변경 -> 엔티티 저장 시 변경된 컬럼만 update 해서 덮어쓰지 않도록
 @JsonIgnoreProperties(value={"likes", "reviews","lectureHashtags"})
 public class Lecture {
     @Id
@@ -48,6 +60,9 @@ public class Lecture {
     @NotNull
     private String lectureUrl;
 
+    @Column(length = 64)
+    private String canonicalUrlHash; // 정규화한 lectureUrl 의 SHA-256 (중복 url 조회용, 저장/수정 시 자동 계산)
+
     @Column(columnDefinition = "TEXT")
     @NotNull
     private String thumbnailUrl;
@@ -56,6 +71,43 @@ public class Lecture {
     @NotNull
     private Double avgRate=0.0;
 
+    @Column(columnDefinition = "integer default 0")
+    @NotNull
+    private Integer likeCount=0; // 좋아요 개수 (좋아요 변경 시 같이 증감)
+
+    @Column(columnDefinition = "integer default 0")
+    @NotNull
+    private Integer reviewCount=0; // 리뷰 개수 (리뷰 등록/삭제 시 같이 증감)
+
+    // 별점 합계/개수/별점별 개수 - 리뷰 등록/수정/삭제 시 차이만큼 증감, avgRate 도 같은 update 에서 계산
+    @Column(columnDefinition = "bigint default 0")
+    @NotNull
+    private Long ratingSum=0L;
+
+    @Column(columnDefinition = "integer default 0")
+    @NotNull
+    private Integer ratingCount=0;
+
+    @Column(columnDefinition = "integer default 0")
+    @NotNull
+    private Integer rating1Count=0;
+
+    @Column(columnDefinition = "integer default 0")
+    @NotNull
+    private Integer rating2Count=0;
+
+    @Column(columnDefinition = "integer default 0")
+    @NotNull
+    private Integer rating3Count=0;
+
+    @Column(columnDefinition = "integer default 0")
+    @NotNull
+    private Integer rating4Count=0;
+
+    @Column(columnDefinition = "integer default 0")
+    @NotNull
+    private Integer rating5Count=0;
+
     // lecture : review = 1:N
     @OneToMany(mappedBy = "lecture", targetEntity = Review.class)
     @JsonManagedReference
@@ -80,6 +132,17 @@ public class Lecture {
         this.thumbnailUrl = thumbnailUrl;
     }
 
+    @PrePersist
+    @PreUpdate
+    public void updateCanonicalUrlHash(){
+        this.canonicalUrlHash = UrlCanonicalizer.canonicalHash(lectureUrl);
+    }
+
+    // 별점 1~5 별 리뷰 개수
+    public List<Integer> getRatingHistogram(){
+        return Arrays.asList(rating1Count, rating2Count, rating3Count, rating4Count, rating5Count);
+    }
+
     public void updateAvgRate(double avgRate){
         this.avgRate = avgRate;
     }
@@ -0,0 +1,37 @@
+package com.example.demo.lecture;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 인기 강의 집계용 활동 (좋아요 / 리뷰 / 등록 요청) - 커밋 이후 TrendingLectures 에 반영
+@Getter
+@AllArgsConstructor
+public class LectureActivityEvent {
+    private final long lectureId;
+    private final Activity activity;
+    private final int sign; // 1: 활동 추가, -1: 취소 (좋아요 취소)
+
+    public enum Activity {
+        LIKE(1.0),
+        REQUEST(2.0), // 이미 등록된 강의를 다시 요청 / 요청한 강의가 등록됨
+        REVIEW(3.0);
+
+        private final double weight;
+
+        Activity(double weight) {
+            this.weight = weight;
+        }
+
+        public double getWeight() {
+            return weight;
+        }
+    }
+
+    public static LectureActivityEvent of(long lectureId, Activity activity) {
+        return new LectureActivityEvent(lectureId, activity, 1);
+    }
+
+    public static LectureActivityEvent cancel(long lectureId, Activity activity) {
+        return new LectureActivityEvent(lectureId, activity, -1);
+    }
+}
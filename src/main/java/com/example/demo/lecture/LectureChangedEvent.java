@@ -0,0 +1,11 @@
+package com.example.demo.lecture;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 강의 상세에 보이는 데이터(리뷰, 좋아요, 해시태그, 강의 정보)가 바뀌었을 때 발행 -> 커밋 이후 상세 캐시에서 제거
+@Getter
+@AllArgsConstructor
+public class LectureChangedEvent {
+    private final long lectureId;
+}
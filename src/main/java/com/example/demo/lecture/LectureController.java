@@ -1,31 +1,33 @@
 package com.example.demo.lecture;
 
+import com.example.demo.dto.CursorPage;
 import com.example.demo.dto.ResponseMessage;
 import com.example.demo.lecture.dto.*;
 import com.example.demo.like.Like;
 import com.example.demo.like.LikeService;
+import com.example.demo.like.LikeTarget;
 import com.example.demo.review.Review;
 import com.example.demo.review.ReviewService;
 import com.example.demo.review.dto.ReviewDto;
 import com.example.demo.user.UserDetailsServiceImpl;
 import com.example.demo.user.domain.Role;
 import com.example.demo.user.domain.User;
+import com.example.demo.util.RatingRebuildJob;
+import com.example.demo.util.SeekCursor;
 import com.example.demo.userPreferenceHashtag.UserPreferenceHashtagService;
 import com.example.demo.util.Crawler;
 import io.swagger.annotations.*;
 import lombok.RequiredArgsConstructor;
-import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
-import org.apache.poi.openxml4j.opc.OPCPackage;
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.security.Principal;
@@ -39,43 +41,34 @@ import java.util.List;
 @RequestMapping("/lectures")
 public class LectureController {
     private final LectureService lectureService;
+    private final LectureImportService lectureImportService;
     private final ReviewService reviewService;
     private final UserDetailsServiceImpl userDetailsService;
     private final LikeService likeService;
     private final RecommendService recommendService;
+    private final RatingRebuildJob ratingRebuildJob;
 
-    // 관리자용 강의 등록
-    @PostMapping("")
-    public ResponseEntity<ResponseMessage> createLecture(Principal principal) throws IOException, InvalidFormatException {
+    // 관리자용 강의 등록 (엑셀 업로드)
+    @ApiOperation(value = "관리자용 엑셀 강의 일괄 등록", notes = "1행은 헤더, A~F 열 = 강의 url, 제목, 강사, 사이트명, 썸네일 url, 해시태그(, 구분)")
+    @PostMapping(value = "", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // 행 묶음마다 따로 커밋
+    public ResponseEntity<ResponseMessage> createLecture(@RequestPart("file") MultipartFile file, Principal principal) {
         String email = principal.getName();
         User user = userDetailsService.findUserByEmail(email);
         if(user == null)
             return new ResponseEntity<>(new ResponseMessage(404, "존재하지 않는 유저"), HttpStatus.NOT_FOUND);
         if(!user.getRole().equals(Role.ADMIN)) // 관리자 유저가 아닌경우
             return new ResponseEntity<>(new ResponseMessage(403, "관리자 권한이 아닌 유저입니다"), HttpStatus.FORBIDDEN);
+        if(file.isEmpty())
+            return new ResponseEntity<>(new ResponseMessage(400, "엑셀 파일이 비어있습니다"), HttpStatus.BAD_REQUEST);
 
-        OPCPackage opcPackage = OPCPackage.open("C:\\Users\\Windows10\\Downloads\\캡스톤2 강의.xlsx");
-        XSSFWorkbook workbook = new XSSFWorkbook(opcPackage);
-        Sheet worksheet = workbook.getSheetAt(0);
-        System.out.println(worksheet.getPhysicalNumberOfRows());
-        for (int i = 1; i < worksheet.getPhysicalNumberOfRows(); i++) { // 4
-            Row row = worksheet.getRow(i);
-            String lectureUrl = row.getCell(0).getStringCellValue();
-            String lectureTitle = row.getCell(1).getStringCellValue();
-            String lecturer = row.getCell(2).getStringCellValue();
-            String siteName = row.getCell(3).getStringCellValue();
-            String thumbnailUrl = row.getCell(4).getStringCellValue();
-
-            // 강의에 들어갈 내용
-            String hashtags = row.getCell(5).getStringCellValue();
-            List<String> processedHashtags = List.of(hashtags.split(", "));
-            Lecture lecture = new Lecture(lectureTitle, lecturer, siteName, lectureUrl, thumbnailUrl);
-            lecture.setUser(user);
-            lectureService.saveLecture(lecture);
-            lectureService.manageHashtag(processedHashtags, lecture); // 강의를 생성할 때 해시태그를 넣어야 함
+        LectureImportResponse result;
+        try {
+            result = lectureImportService.importLectures(file, user);
+        } catch (IOException e) {
+            return new ResponseEntity<>(new ResponseMessage(400, e.getMessage()), HttpStatus.BAD_REQUEST);
         }
-        opcPackage.close();
-        return new ResponseEntity<>(new ResponseMessage(200, "강의가 등록되었습니다"), HttpStatus.OK);
+        return new ResponseEntity<>(ResponseMessage.withData(200, "강의가 등록되었습니다", result), HttpStatus.OK);
     }
 
     // 관리자용 강의 수정
@@ -120,31 +113,107 @@ public class LectureController {
     }
 
 
-    // 전체 강의 글 조회 + 필터링 된 강의 글 조회
+    // 관리자용 강의 별점(평균, 별점별 개수) 전체 재계산
+    @PostMapping("/ratings/rebuild")
+    public ResponseEntity<ResponseMessage> rebuildRatings(Principal principal) {
+        User user = userDetailsService.findUserByEmail(principal.getName());
+        if(user == null)
+            return new ResponseEntity<>(new ResponseMessage(404, "존재하지 않는 유저"), HttpStatus.NOT_FOUND);
+
+        if(!user.getRole().equals(Role.ADMIN)) // 관리자 유저가 아닌경우
+            return new ResponseEntity<>(new ResponseMessage(403, "관리자 권한이 아닌 유저입니다"), HttpStatus.FORBIDDEN);
+
+        int lectures = ratingRebuildJob.rebuild();
+        return new ResponseEntity<>(ResponseMessage.withData(200, "강의 별점 재계산 성공", lectures), HttpStatus.OK);
+    }
+
+    // 전체 강의 글 조회 + 필터링/정렬 된 강의 글 조회
     @ApiOperation(value = "전체 강의글 조회 + 검색 필터링별 강의 조회")
     @ApiResponses({
             @ApiResponse(code = 200, message = "API 정상 작동 (모든 강의리뷰 조회 / 필터링 된 강의리뷰 조회)"),
+            @ApiResponse(code = 400, message = "잘못된 정렬"),
             @ApiResponse(code = 500, message = "서버 에러")
     })
     @ApiImplicitParams({
             @ApiImplicitParam(name = "keyword", value = "검색어", example = "자바", required = false),
             @ApiImplicitParam(name = "category", value = "카테고리", example = "백엔드", required = false),
+            @ApiImplicitParam(name = "sort", value = "정렬 (newest, rating, likes, reviews)", example = "rating", required = false),
             @ApiImplicitParam(name = "page", value = "pageable object", paramType = "query")
     })
     @GetMapping("")
     public ResponseEntity<ResponseMessage> getLectures(
-            @PageableDefault(size = 20, direction = Sort.Direction.DESC) Pageable pageable,
+            @PageableDefault(size = 20) Pageable pageable, // 정렬은 sort 파라미터(LectureSort)로만
             @RequestParam(required = false) String keyword,
-            @RequestParam(required = false) String category) {
-        if (keyword == null && category == null) { // 모든 강의 조회
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String sort,
+            Principal principal) {
+        if (keyword == null && category == null && sort == null) { // 모든 강의 조회
             List<AllLecturesResponse> lectures = lectureService.getLectures();
+            markAllLikedByMe(lectures, principal);
             return new ResponseEntity<>(ResponseMessage.withData(200, "모든 강의를 조회했습니다", lectures), HttpStatus.OK);
 
 //            return new ResponseEntity<>(ResponseMessage.withData(200, "모든 강의를 조회했습니다", lectures.getContent()), HttpStatus.OK);
-        } else { // 검색어별 조회 or 해시태그(카테고리)별 조회
-            List<AllLecturesResponse> lectures = lectureService.getFilteredLectures(pageable, keyword, category);
-            return new ResponseEntity<>(ResponseMessage.withData(200, "필터링 된 강의리뷰 조회", lectures), HttpStatus.OK);
         }
+
+        LectureSort lectureSort;
+        try {
+            lectureSort = LectureSort.from(sort);
+        } catch (IllegalArgumentException e) { // 정렬 이름 오류
+            return new ResponseEntity<>(new ResponseMessage(400, "잘못된 정렬입니다."), HttpStatus.BAD_REQUEST);
+        }
+        // 검색어별 조회 or 해시태그(카테고리)별 조회 or 정렬 조회 (페이지 단위, 정렬은 서버에서)
+        Page<AllLecturesResponse> lectures = lectureService.getFilteredLectures(pageable, keyword, category, lectureSort);
+        markLikedByMe(lectures.getContent(), principal);
+        return new ResponseEntity<>(ResponseMessage.withData(200, "필터링 된 강의리뷰 조회", lectures), HttpStatus.OK);
+    }
+
+    // 인기 강의 (최근 좋아요/리뷰/등록 요청이 많은 순, 오래된 활동일수록 적게 반영)
+    @ApiOperation(value = "인기 강의 조회")
+    @ApiResponses({
+            @ApiResponse(code = 200, message = "API 정상 작동 (인기 강의 목록)"),
+            @ApiResponse(code = 500, message = "서버 에러")
+    })
+    @ApiImplicitParam(name = "size", value = "개수 (최대 50)", example = "10", required = false)
+    @GetMapping("/trending")
+    public ResponseEntity<ResponseMessage> getTrendingLectures(@RequestParam(defaultValue = "10") int size, Principal principal) {
+        List<AllLecturesResponse> lectures = lectureService.getTrendingLectures(size);
+        markLikedByMe(lectures, principal);
+        return new ResponseEntity<>(ResponseMessage.withData(200, "인기 강의 조회 성공", lectures), HttpStatus.OK);
+    }
+
+    // 무한 스크롤용 강의 목록 (seek 페이징)
+    @ApiOperation(value = "강의글 목록 cursor 페이징 조회")
+    @ApiResponses({
+            @ApiResponse(code = 200, message = "API 정상 작동 (강의 목록 + 다음 cursor)"),
+            @ApiResponse(code = 400, message = "잘못된 정렬 또는 cursor"),
+            @ApiResponse(code = 500, message = "서버 에러")
+    })
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "keyword", value = "검색어", example = "자바", required = false),
+            @ApiImplicitParam(name = "category", value = "카테고리", example = "백엔드", required = false),
+            @ApiImplicitParam(name = "sort", value = "정렬 (newest, rating, likes, reviews)", example = "likes", required = false),
+            @ApiImplicitParam(name = "cursor", value = "이전 응답의 nextCursor (첫 페이지는 생략)", required = false),
+            @ApiImplicitParam(name = "size", value = "페이지 크기 (최대 50)", example = "20", required = false)
+    })
+    @GetMapping("/cursor")
+    public ResponseEntity<ResponseMessage> getLecturesByCursor(
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Principal principal) {
+        LectureSort lectureSort;
+        SeekCursor after;
+        try { // 서비스(트랜잭션) 안에서 예외가 나면 rollback-only 가 되므로 여기서 먼저 검증
+            lectureSort = LectureSort.from(sort);
+            after = SeekCursor.decode(cursor, lectureSort.cursorName());
+        } catch (IllegalArgumentException e) { // 정렬 이름, cursor 형식 오류
+            return new ResponseEntity<>(new ResponseMessage(400, "잘못된 정렬 또는 cursor 입니다."), HttpStatus.BAD_REQUEST);
+        }
+        CursorPage<AllLecturesResponse> lectures = lectureService.getLecturePage(keyword, category, lectureSort, after, size);
+        markLikedByMe(lectures.getItems(), principal);
+        return new ResponseEntity<>(ResponseMessage.withData(200, "강의 목록 조회 성공", lectures), HttpStatus.OK);
     }
 
     // 강의글 상세 조회
@@ -162,10 +231,8 @@ public class LectureController {
             return new ResponseEntity<>(new ResponseMessage(403, "리뷰를 작성해야 추가 조회 가능"), HttpStatus.FORBIDDEN);
         if(user == null)
             return new ResponseEntity<>(new ResponseMessage(404, "존재하지 않는 유저"), HttpStatus.NOT_FOUND);
-        Lecture lecture = lectureService.findById(lectureId);
-        if(lecture != null) {// 강의정보가 있는 경우만
-            DetailLectureResponse detailLectureResponse = lectureService.getLecture(lecture, user);
-
+        DetailLectureResponse detailLectureResponse = lectureService.getLecture(lectureId, user);
+        if(detailLectureResponse != null) {// 강의정보가 있는 경우만
             user.updateReadCount(); // 강의 조회 시 readCount 늘려주기
             return new ResponseEntity<>(ResponseMessage.withData(200, "강의를 조회했습니다", detailLectureResponse), HttpStatus.OK);
         }
@@ -181,9 +248,11 @@ public class LectureController {
             return new ResponseEntity<>(new ResponseMessage(404, "존재하지 않는 유저"), HttpStatus.NOT_FOUND);
 
         String requestUrl = params.get("lectureUrl");
-        LectureUrlResponse lectureUrlResponse = lectureService.getLectureUrl(requestUrl);
-        if(lectureUrlResponse != null)
+        LectureUrlResponse lectureUrlResponse = lectureService.getRegisteredLectureUrl(requestUrl);
+        if(lectureUrlResponse != null) {
+            lectureService.recordRequestActivity(lectureUrlResponse.getLectureId()); // 이미 있는 강의를 또 찾는 사용자 -> 인기 강의 점수
             return new ResponseEntity<>(new ResponseMessage(409, "이미 등록된 강의입니다.", lectureUrlResponse), HttpStatus.CONFLICT);
+        }
 
         RequestedLecture requestedLecture = lectureService.findByRequestedLecture(requestUrl);
         if(requestedLecture != null)
@@ -247,7 +316,9 @@ public class LectureController {
             return new ResponseEntity<>(new ResponseMessage(404, "존재하지 않는 강의"), HttpStatus.NOT_FOUND);
 
         String likeStatus = likeService.changeLikeStatus(lecture, user);
-        if(likeStatus.equals("like cancel"))
+        if(likeStatus.equals("like busy")) // write-behind 버퍼 flush 와 계속 겹친 경우
+            return new ResponseEntity<>(new ResponseMessage(503, "좋아요 처리 중입니다. 잠시 후 다시 시도해주세요"), HttpStatus.SERVICE_UNAVAILABLE);
+        else if(likeStatus.equals("like cancel"))
             return new ResponseEntity<>(new ResponseMessage(200, "좋아요 취소 성공"), HttpStatus.OK);
         else if(likeStatus.equals("like success again"))
             return new ResponseEntity<>(new ResponseMessage(200, "좋아요 재등록 성공"), HttpStatus.OK);
@@ -264,4 +335,16 @@ public class LectureController {
             return new ResponseEntity<>(ResponseMessage.withData(200, "중복된 링크가 존재합니다.", lectureUrlResponse), HttpStatus.OK);
         return new ResponseEntity<>(new ResponseMessage(200, "중복된 링크가 없습니다."), HttpStatus.OK);
     }
-}
\ No newline at end of file
+
+    // 목록의 likedByMe 채우기 (로그인 안 한 경우 전부 false)
+    private void markLikedByMe(List<AllLecturesResponse> lectures, Principal principal) {
+        User user = principal == null ? null : userDetailsService.findUserByEmail(principal.getName());
+        likeService.markLikedByMe(LikeTarget.LECTURE, user, lectures, AllLecturesResponse::getLectureId, AllLecturesResponse::setLikedByMe);
+    }
+
+    // 전체 강의 목록용 (강의 id 로 IN 조회하지 않음)
+    private void markAllLikedByMe(List<AllLecturesResponse> lectures, Principal principal) {
+        User user = principal == null ? null : userDetailsService.findUserByEmail(principal.getName());
+        likeService.markAllLikedByMe(LikeTarget.LECTURE, user, lectures, AllLecturesResponse::getLectureId, AllLecturesResponse::setLikedByMe);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.demo.lecture;
+
+import com.example.demo.lecture.dto.DetailLectureResponse;
+import com.example.demo.review.dto.DetailReviewResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 강의 상세 조회의 사용자와 무관한 부분(강의 정보, 리뷰, 개수, 해시태그) 캐시
+ * - likeStatus, writerStatus 만 요청마다 계산해서 Snapshot 을 복사한 응답에 채움 (캐시된 객체는 밖으로 나가지 않음)
+ * - 리뷰/좋아요/강의 변경 시 LectureChangedEvent 로 커밋 이후 제거, 다른 서버에서의 변경은 TTL 로 반영
+ */
+@Component
+public class LectureDetailCache {
+
+    // 캐시되는 값 - 한 번 만들면 변경하지 않음
+    public static class Snapshot {
+        private final DetailLectureResponse lecture; // reviews, likeStatus 는 비어있음
+        private final List<DetailReviewResponse> reviews;
+        private final List<Long> writerIds; // reviews 와 같은 순서의 작성자 id
+        private final long loadedAt;
+
+        public Snapshot(DetailLectureResponse lecture, List<DetailReviewResponse> reviews, List<Long> writerIds) {
+            this.lecture = lecture;
+            this.reviews = Collections.unmodifiableList(new ArrayList<>(reviews));
+            this.writerIds = Collections.unmodifiableList(new ArrayList<>(writerIds));
+            this.loadedAt = System.currentTimeMillis();
+        }
+
+        // 요청한 사용자 기준 응답 (매번 새 객체)
+        public DetailLectureResponse toResponse(long userId, boolean likeStatus) {
+            List<DetailReviewResponse> userReviews = new ArrayList<>(reviews.size());
+            for (int i = 0; i < reviews.size(); i++) {
+                userReviews.add(reviews.get(i).withWriterStatus(writerIds.get(i) == userId));
+            }
+            return lecture.toBuilder()
+                    .reviews(userReviews)
+                    .likeStatus(likeStatus)
+                    .build();
+        }
+    }
+
+    private final int maxSize;
+    private final long ttlMs;
+    private final LinkedHashMap<Long, Snapshot> entries;
+    private long evictions; // 로딩 중에 제거가 있었으면 로딩한 값은 저장하지 않음
+
+    public LectureDetailCache(@Value("${lecture.detail-cache.max-size:500}") int maxSize,
+                              @Value("${lecture.detail-cache.ttl-ms:60000}") long ttlMs) {
+        this.maxSize = maxSize;
+        this.ttlMs = ttlMs;
+        this.entries = new LinkedHashMap<Long, Snapshot>(16, 0.75f, true) { // 접근 순서
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Snapshot> eldest) {
+                return size() > LectureDetailCache.this.maxSize;
+            }
+        };
+    }
+
+    public Snapshot get(long lectureId, Function<Long, Snapshot> loader) {
+        long evictionsBeforeLoad;
+        synchronized (this) {
+            Snapshot cached = entries.get(lectureId);
+            if (cached != null && System.currentTimeMillis() - cached.loadedAt < ttlMs) {
+                return cached;
+            }
+            evictionsBeforeLoad = evictions;
+        }
+        Snapshot loaded = loader.apply(lectureId);
+        if (loaded == null) { // 없는 강의
+            return null;
+        }
+        synchronized (this) {
+            if (evictions == evictionsBeforeLoad) {
+                entries.put(lectureId, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    public synchronized void evict(long lectureId) {
+        entries.remove(lectureId);
+        evictions++;
+    }
+
+    // 트랜잭션 밖에서 발행되면 바로 제거
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLectureChanged(LectureChangedEvent event) {
+        evict(event.getLectureId());
+    }
+}
@@ -0,0 +1,386 @@
+package com.example.demo.lecture;
+
+import com.example.demo.hashtag.Hashtag;
+import com.example.demo.hashtag.repository.HashtagRepository;
+import com.example.demo.hashtag.service.HashtagService;
+import com.example.demo.lecture.dto.ExcelData;
+import com.example.demo.lecture.dto.LectureImportResponse;
+import com.example.demo.search.SearchIndexEvent;
+import com.example.demo.user.domain.User;
+import com.example.demo.util.UrlCanonicalizer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.UnsupportedFileFormatException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 관리자용 엑셀 강의 일괄 등록
+ * - XSSFWorkbook(DOM) 대신 POI SAX 이벤트 API 로 첫 시트를 한 행씩 읽음
+ * - 해시태그는 시작할 때 한 번 읽은 사전(Map)에서 찾고, 없는 것만 묶음마다 HashtagService.resolveHashtags 로 생성
+ * - BATCH_SIZE 행마다 강의/강의-해시태그를 JDBC batch insert (묶음 하나가 트랜잭션 하나)
+ * - 묶음 저장이 실패하면 그 묶음만 한 행씩 다시 저장해서 문제 있는 행만 에러로 보고
+ * - 이미 등록된 url (같은 파일 안의 중복 포함) 은 canonical_url_hash 로 DB 조회해서 에러로 보고 (Bloom filter 는 서버 간에 늦게 맞춰지므로 쓰지 않음)
+ *
+ * 엑셀 형식: 1행은 헤더, A~F 열 = 강의 url, 제목, 강사, 사이트명, 썸네일 url, 해시태그(", " 구분)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LectureImportService {
+    private static final int BATCH_SIZE = 500;
+    private static final int COLUMN_COUNT = 6;
+
+    private static final String INSERT_LECTURE = "insert into lectures "
+            + "(user_id, lecture_title, lecturer, site_name, lecture_url, canonical_url_hash, thumbnail_url, avg_rate, like_count, review_count) "
+            + "values (?, ?, ?, ?, ?, ?, ?, 0, 0, 0)";
+    private static final String INSERT_LECTURE_HASHTAG = "insert into lecture_hashtags (lecture_id, hashtag_id) values (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final HashtagRepository hashtagRepository;
+    private final HashtagService hashtagService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LectureUrlIndex lectureUrlIndex;
+
+    public LectureImportResponse importLectures(MultipartFile file, User user) throws IOException {
+        long start = System.currentTimeMillis();
+        ImportContext context = new ImportContext(user);
+        for (Hashtag hashtag : hashtagRepository.findAll()) {
+            context.dictionary.putIfAbsent(hashtag.getHashtagName(), hashtag.getHashtagId());
+        }
+
+        File temp = File.createTempFile("lecture-import", ".xlsx");
+        try {
+            file.transferTo(temp);
+            try (OPCPackage opcPackage = OPCPackage.open(temp, PackageAccess.READ)) {
+                RowCollector collector = new RowCollector(context);
+                readFirstSheet(opcPackage, collector);
+                collector.flush();
+            }
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException | UnsupportedFileFormatException e) {
+            throw new IOException("엑셀(xlsx) 파일을 읽을 수 없습니다", e);
+        } finally {
+            if (!temp.delete()) {
+                temp.deleteOnExit();
+            }
+        }
+
+        LectureImportResponse result = context.result;
+        result.finish(System.currentTimeMillis() - start);
+        log.info("lecture import - total: " + result.getTotalRows() + ", imported: " + result.getImportedRows()
+                + ", failed: " + result.getFailedRows() + ", " + String.format("%.1f", result.getRowsPerSecond()) + " rows/s");
+        return result;
+    }
+
+    private void readFirstSheet(OPCPackage opcPackage, XSSFSheetXMLHandler.SheetContentsHandler handler)
+            throws IOException, OpenXML4JException, SAXException, ParserConfigurationException {
+        XSSFReader reader = new XSSFReader(opcPackage);
+        ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(opcPackage);
+        StylesTable styles = reader.getStylesTable();
+        Iterator<InputStream> sheets = reader.getSheetsData();
+        if (!sheets.hasNext()) {
+            return;
+        }
+        try (InputStream sheet = sheets.next()) {
+            XMLReader parser = XMLHelper.newXMLReader();
+            parser.setContentHandler(new XSSFSheetXMLHandler(styles, strings, handler, new DataFormatter(), false));
+            parser.parse(new InputSource(sheet));
+        }
+    }
+
+    // 행 묶음 저장: 검증 실패한 행은 에러로 빼고 나머지를 한 트랜잭션으로 batch insert
+    private void saveChunk(List<ExcelData> rows, ImportContext context) {
+        List<ExcelData> valid = new ArrayList<>();
+        Map<ExcelData, List<String>> rowHashtags = new HashMap<>();
+        for (ExcelData row : rows) {
+            String error = validate(row);
+            List<String> hashtags = splitHashtags(row.getHashtags());
+            if (error == null) {
+                error = hashtags.stream()
+                        .filter(h -> h.length() > 10)
+                        .findFirst()
+                        .map(h -> "해시태그는 10자 이하여야 합니다: " + h)
+                        .orElse(null);
+            }
+            if (error != null) {
+                context.result.addError(row.getRowNum(), error);
+                continue;
+            }
+            valid.add(row);
+            rowHashtags.put(row, hashtags);
+        }
+        valid = removeDuplicates(valid, context);
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        try {
+            insertRows(valid, rowHashtags, context);
+        } catch (DataAccessException e) {
+            if (valid.size() == 1) {
+                context.result.addError(valid.get(0).getRowNum(), "저장 실패: " + e.getMostSpecificCause().getMessage());
+                return;
+            }
+            // 묶음 중 어떤 행이 문제인지 찾기 위해 한 행씩 다시 저장
+            for (ExcelData row : valid) {
+                saveChunk(Collections.singletonList(row), context);
+            }
+        }
+    }
+
+    // 이미 등록된 url (앞 묶음은 커밋됐으므로 DB 에 있음), 같은 묶음에서 먼저 나온 url 은 에러로 빼고 나머지 반환
+    private List<ExcelData> removeDuplicates(List<ExcelData> rows, ImportContext context) {
+        Set<String> hashes = rows.stream()
+                .map(row -> UrlCanonicalizer.canonicalHash(row.getLectureUrl()))
+                .filter(hash -> hash != null)
+                .collect(Collectors.toSet());
+        Set<String> registered = new HashSet<>();
+        if (!hashes.isEmpty()) {
+            String placeholders = hashes.stream().map(hash -> "?").collect(Collectors.joining(", "));
+            registered.addAll(jdbcTemplate.queryForList("select canonical_url_hash from lectures where canonical_url_hash in (" + placeholders + ")",
+                    String.class, hashes.toArray()));
+        }
+        // 시작 직후 backfill 전에는 hash 가 비어있는 row 가 있으므로 원래 url 로도 확인
+        Set<String> registeredUrls = new HashSet<>();
+        if (!lectureUrlIndex.isReady()) {
+            String placeholders = rows.stream().map(row -> "?").collect(Collectors.joining(", "));
+            registeredUrls.addAll(jdbcTemplate.queryForList("select lecture_url from lectures where lecture_url in (" + placeholders + ")",
+                    String.class, rows.stream().map(ExcelData::getLectureUrl).toArray()));
+        }
+
+        List<ExcelData> unique = new ArrayList<>();
+        for (ExcelData row : rows) {
+            String hash = UrlCanonicalizer.canonicalHash(row.getLectureUrl());
+            if (registeredUrls.contains(row.getLectureUrl()) || (hash != null && !registered.add(hash))) {
+                context.result.addError(row.getRowNum(), "이미 등록된 강의입니다");
+                continue;
+            }
+            unique.add(row);
+        }
+        return unique;
+    }
+
+    private void insertRows(List<ExcelData> rows, Map<ExcelData, List<String>> rowHashtags, ImportContext context) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        // 사전에 없는 해시태그는 묶음마다 한 번에 조회/생성 (크롤링과 동시에 만들어져도 unique 제약 + 재시도로 처리)
+        LinkedHashSet<String> newNames = new LinkedHashSet<>();
+        rowHashtags.values().forEach(tags -> tags.stream()
+                .filter(tag -> !context.dictionary.containsKey(tag))
+                .forEach(newNames::add));
+        context.dictionary.putAll(hashtagService.resolveHashtags(newNames));
+
+        List<Long> lectureIds = transaction.execute(status -> {
+            List<Long> ids = insertReturningKeys(INSERT_LECTURE, toParams(rows, row -> new Object[]{
+                    context.user.getUserId(), row.getLectureTitle(), row.getLecturer(), row.getSiteName(),
+                    row.getLectureUrl(), UrlCanonicalizer.canonicalHash(row.getLectureUrl()), row.getThumbnailUrl()}));
+
+            List<Object[]> links = new ArrayList<>();
+            for (int i = 0; i < rows.size(); i++) {
+                LinkedHashSet<Long> hashtagIds = new LinkedHashSet<>();
+                for (String tag : rowHashtags.get(rows.get(i))) {
+                    hashtagIds.add(context.dictionary.get(tag));
+                }
+                for (Long hashtagId : hashtagIds) {
+                    links.add(new Object[]{ids.get(i), hashtagId});
+                }
+            }
+            jdbcTemplate.batchUpdate(INSERT_LECTURE_HASHTAG, links);
+            return ids;
+        });
+
+        // 커밋된 뒤에만 검색 인덱스, url 중복 필터에 반영
+        for (int i = 0; i < rows.size(); i++) {
+            ExcelData row = rows.get(i);
+            lectureUrlIndex.addLecture(UrlCanonicalizer.canonicalHash(row.getLectureUrl()));
+            eventPublisher.publishEvent(SearchIndexEvent.ofLecture(lectureIds.get(i), row.getLectureTitle(), row.getLecturer(), row.getSiteName()));
+        }
+        context.result.addImported(rows.size());
+    }
+
+    // batch insert 후 생성된 id 를 입력 순서대로 반환
+    private List<Long> insertReturningKeys(String sql, List<Object[]> params) {
+        if (params.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                for (Object[] param : params) {
+                    for (int i = 0; i < param.length; i++) {
+                        ps.setObject(i + 1, param[i]);
+                    }
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+
+                List<Long> keys = new ArrayList<>(params.size());
+                try (ResultSet rs = ps.getGeneratedKeys()) {
+                    while (rs.next()) {
+                        keys.add(rs.getLong(1));
+                    }
+                }
+                if (keys.size() != params.size()) {
+                    throw new IncorrectResultSizeDataAccessException("generated key count mismatch", params.size(), keys.size());
+                }
+                return keys;
+            }
+        });
+    }
+
+    private <T> List<Object[]> toParams(List<T> items, Function<T, Object[]> mapper) {
+        List<Object[]> params = new ArrayList<>(items.size());
+        for (T item : items) {
+            params.add(mapper.apply(item));
+        }
+        return params;
+    }
+
+    // Lecture 엔티티 컬럼 길이 기준 검증, 문제 없으면 null
+    private String validate(ExcelData row) {
+        if (isBlank(row.getLectureUrl())) return "강의 url 이 비어있습니다";
+        if (isBlank(row.getLectureTitle())) return "강의 제목이 비어있습니다";
+        if (isBlank(row.getLecturer())) return "강사 이름이 비어있습니다";
+        if (isBlank(row.getSiteName())) return "사이트 이름이 비어있습니다";
+        if (isBlank(row.getThumbnailUrl())) return "썸네일 url 이 비어있습니다";
+        if (row.getLectureUrl().length() > 255) return "강의 url 은 255자 이하여야 합니다";
+        if (row.getLectureTitle().length() > 45) return "강의 제목은 45자 이하여야 합니다";
+        if (row.getLecturer().length() > 15) return "강사 이름은 15자 이하여야 합니다";
+        if (row.getSiteName().length() > 15) return "사이트 이름은 15자 이하여야 합니다";
+        return null;
+    }
+
+    // 해시태그 셀 -> 중복 제거된 해시태그 목록 (순서 유지)
+    private List<String> splitHashtags(String hashtags) {
+        LinkedHashSet<String> tags = new LinkedHashSet<>();
+        if (hashtags != null) {
+            for (String tag : hashtags.split(",")) {
+                if (!tag.trim().isEmpty()) {
+                    tags.add(tag.trim());
+                }
+            }
+        }
+        return new ArrayList<>(tags);
+    }
+
+    private boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    private static class ImportContext {
+        private final User user;
+        private final Map<String, Long> dictionary = new HashMap<>(); // 해시태그 이름 -> id
+        private final LectureImportResponse result = new LectureImportResponse();
+
+        private ImportContext(User user) {
+            this.user = user;
+        }
+    }
+
+    // SAX 이벤트로 들어오는 셀들을 행(ExcelData)으로 모아서 BATCH_SIZE 마다 저장
+    private class RowCollector implements XSSFSheetXMLHandler.SheetContentsHandler {
+        private final ImportContext context;
+        private final List<ExcelData> chunk = new ArrayList<>();
+        private String[] cells;
+        private int nextColumn;
+
+        private RowCollector(ImportContext context) {
+            this.context = context;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            cells = new String[COLUMN_COUNT];
+            nextColumn = 0;
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = cellReference != null ? new CellReference(cellReference).getCol() : nextColumn;
+            nextColumn = column + 1;
+            if (column < COLUMN_COUNT) {
+                cells[column] = formattedValue == null ? null : formattedValue.trim();
+            }
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (rowNum == 0) { // 헤더
+                return;
+            }
+            boolean empty = true;
+            for (String cell : cells) {
+                if (cell != null && !cell.isEmpty()) {
+                    empty = false;
+                }
+            }
+            if (empty) {
+                return;
+            }
+
+            ExcelData row = new ExcelData();
+            row.setRowNum(rowNum + 1);
+            row.setLectureUrl(cells[0]);
+            row.setLectureTitle(cells[1]);
+            row.setLecturer(cells[2]);
+            row.setSiteName(cells[3]);
+            row.setThumbnailUrl(cells[4]);
+            row.setHashtags(cells[5]);
+            context.result.addRow();
+            chunk.add(row);
+            if (chunk.size() >= BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            saveChunk(new ArrayList<>(chunk), context);
+            chunk.clear();
+        }
+    }
+}
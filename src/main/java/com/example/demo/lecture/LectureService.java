@@ -1,7 +1,9 @@
 package com.example.demo.lecture;
 
+import com.example.demo.dto.CursorPage;
 import com.example.demo.hashtag.Hashtag;
 import com.example.demo.hashtag.repository.HashtagRepository;
+import com.example.demo.hashtag.service.HashtagService;
 import com.example.demo.lecture.dto.AllLecturesResponse;
 import com.example.demo.lecture.dto.DetailLectureResponse;
 import com.example.demo.lecture.dto.LectureDto;
@@ -10,39 +12,71 @@ import com.example.demo.lecture.repository.LectureRepository;
 import com.example.demo.lecture.repository.LectureSpecification;
 import com.example.demo.lecture.repository.RequestedLectureRepository;
 import com.example.demo.lectureHashtag.LectureHashtag;
+import com.example.demo.lectureHashtag.LectureHashtagChangedEvent;
 import com.example.demo.lectureHashtag.LectureHashtagRepository;
+import com.example.demo.lectureHashtag.LectureHashtagService;
 import com.example.demo.like.Like;
+import com.example.demo.like.LikeCounterStore;
+import com.example.demo.like.LikeTarget;
+import com.example.demo.like.LikeWriteBuffer;
 import com.example.demo.like.repository.LikeRepository;
 import com.example.demo.review.Review;
+import com.example.demo.review.ReviewSort;
 import com.example.demo.review.dto.DetailReviewResponse;
+import com.example.demo.review.dto.ReviewPageResponse;
 import com.example.demo.review.repository.ReviewRepository;
+import com.example.demo.search.SearchIndexEvent;
+import com.example.demo.search.SearchType;
 import com.example.demo.user.domain.User;
 import com.example.demo.util.Crawler;
+import com.example.demo.util.SeekCursor;
+import com.example.demo.util.UrlCanonicalizer;
 import com.sun.mail.iap.Response;
 import lombok.RequiredArgsConstructor;
 import org.apache.xmlbeans.impl.xb.xsdschema.All;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class LectureService {
+    private static final int DETAIL_REVIEW_SIZE = 10; // 상세 조회에 포함하는 리뷰 개수
+    private static final int MAX_PAGE_SIZE = 50; // seek 페이징 한 번에 가져오는 최대 강의 수
     private final RequestedLectureRepository requestedLectureRepository;
     private final LectureRepository lectureRepository;
     private final ReviewRepository reviewRepository;
     private final LectureHashtagRepository lectureHashtagRepository;
+    private final LectureHashtagService lectureHashtagService;
     private final HashtagRepository hashtagRepository;
+    private final HashtagService hashtagService;
     private final LikeRepository likeRepository;
     private final Crawler crawler;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LectureUrlIndex lectureUrlIndex;
+    private final LectureDetailCache lectureDetailCache;
+    private final TrendingLectures trendingLectures;
+    private final LikeWriteBuffer likeWriteBuffer;
+    private final LikeCounterStore likeCounterStore;
+    private final PlatformTransactionManager transactionManager;
 
     // 전체 강의 조회 (페이지네이션)
     public Page<AllLecturesResponse> getLecturesByPage(Pageable pageable) {
@@ -50,48 +84,62 @@ public class LectureService {
     }
 
     // 전체 강의 조회
+    // 좋아요/리뷰 개수는 카운터 컬럼에서 같이 가져오므로 강의 수와 상관없이 쿼리 1번
     public List<AllLecturesResponse> getLectures(){
-        List<AllLecturesResponse> lectures = lectureRepository
-                .findAll()
-                .stream()
-                .map(AllLecturesResponse::from)
-                .collect(Collectors.toList());
+        return withLiveLikeCounts(lectureRepository.findAllLecturesResponse());
+    }
 
-        for(int i=0;i<lectures.size();i++){
-            Lecture lecture = findById(lectures.get(i).getLectureId());
-            lectures.get(i).setLikeCnt(this.getLikeCount(lecture));
-        }
+    // Redis 좋아요 카운터를 쓰는 경우 목록의 좋아요 개수를 한 번에 덮어씀 (HMGET 한 번, 정렬/cursor 는 DB 카운터 기준 그대로)
+    private List<AllLecturesResponse> withLiveLikeCounts(List<AllLecturesResponse> lectures){
+        if(!likeCounterStore.isEnabled() || lectures.isEmpty())
+            return lectures;
+        Map<Long, Integer> stored = new HashMap<>();
+        lectures.forEach(lecture -> stored.put(lecture.getLectureId(), lecture.getLikeCnt()));
+        Map<Long, Integer> counts = likeCounterStore.counts(LikeTarget.LECTURE, stored);
+        lectures.forEach(lecture -> lecture.setLikeCnt(counts.get(lecture.getLectureId())));
         return lectures;
     }
 
-    // 검색어별 조회
-    public List<AllLecturesResponse> getFilteredLectures(Pageable pageable, String keyword, String category) {
-        List<AllLecturesResponse> lectures = new ArrayList<>(); // 반환하는 값
-        List<Lecture> allLectures = lectureRepository.findAll(); // 전체 lecture list
-
-        if (keyword != null) { // 검색어(키워드)만 있는 경우
-            String[] keywords = keyword.split(" "); // 검색어(키워드)에 공백있는 경우
-            for (int i = 0; i < keywords.length; i++) {
-                String word = keywords[i];
-                lectures.addAll(lectureRepository.findAll(LectureSpecification.titleLike(word), pageable).map(AllLecturesResponse::from).getContent());
-            }
-        }
+    // 무한 스크롤용 seek 페이징 : 마지막 강의의 (정렬 값, id) 뒤부터 size 개 (몇 번째 페이지든 인덱스에서 바로 찾음)
+    // after : controller 에서 decode 한 cursor (첫 페이지면 null)
+    public CursorPage<AllLecturesResponse> getLecturePage(String keyword, String category, LectureSort sort, SeekCursor after, int size) {
+        String[] keywords = keyword != null ? keyword.split(" ") : null;
+        List<String> categories = category != null ? Arrays.asList(category.split(",")) : null;
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<AllLecturesResponse> fetched = lectureRepository.findPageAfter(categories, keywords, sort, after, pageSize + 1);
+        return CursorPage.of(fetched, pageSize,
+                lecture -> SeekCursor.of(sort.cursorName(), sort.keyOf(lecture), lecture.getLectureId()),
+                this::withLiveLikeCounts);
+    }
 
-        if(category!=null){ // 카테고리(해시태그)만 있는 경우
-            List<String> categories = Arrays.asList(category.split(",")); // 카테고리 받아온거
-//            lectureRepository.findByHashtag(categories);
-            for(int i=0;i<allLectures.size();i++) { // 강의 전체를 돌면서
-                Lecture lecture = this.findById(allLectures.get(i).getLectureId());
-                List<String> hashtags = this.getHashtags(lecture.getLectureId()); // 해당강의의 해시태그 가져오기
-                List<String> finalList = hashtags.stream()
-                        .filter(element -> listContains(categories, element)) // 사용자가 원하는 카테고리에 해당 강의의 hashtag 중 하나라도 포함되어 있는 경우
-                        .collect(Collectors.toList());
-                if(!finalList.isEmpty()) { // 포함되는게 있는 것만 추가
-                    lectures.add(AllLecturesResponse.from(lecture));
-                }
-            }
-        }
-        return lectures;
+    // 인기 강의 : 메모리의 순위(TrendingLectures)에서 상위 id 를 꺼내고 강의 정보만 한 번에 조회
+    // 삭제된 강의가 순위에 남아있을 수 있어서 여유 있게 꺼내서 순서대로 size 개
+    public List<AllLecturesResponse> getTrendingLectures(int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<Long> lectureIds = trendingLectures.top(pageSize * 2);
+        Map<Long, AllLecturesResponse> lectures = lectureRepository.findAllLecturesResponseByIds(lectureIds)
+                .stream()
+                .collect(Collectors.toMap(AllLecturesResponse::getLectureId, lecture -> lecture));
+        return withLiveLikeCounts(lectureIds.stream()
+                .map(lectures::get)
+                .filter(lecture -> lecture != null)
+                .limit(pageSize)
+                .collect(Collectors.toList()));
+    }
+
+    // 등록 요청 활동 (이미 등록된 강의를 다시 요청 / 요청한 강의가 크롤링되어 등록됨)
+    public void recordRequestActivity(Long lectureId) {
+        eventPublisher.publishEvent(LectureActivityEvent.of(lectureId, LectureActivityEvent.Activity.REQUEST));
+    }
+
+    // 검색어별 조회 + 정렬
+    // 키워드(제목) + 카테고리(해시태그 조인) 조건, 정렬(별점/좋아요/리뷰 카운터 컬럼)을 한 번의 페이징 쿼리로 처리
+    // 전체 개수(totalElements)도 같이 반환
+    public Page<AllLecturesResponse> getFilteredLectures(Pageable pageable, String keyword, String category, LectureSort sort) {
+        String[] keywords = keyword != null ? keyword.split(" ") : null; // 검색어(키워드)에 공백있는 경우
+        List<String> categories = category != null ? Arrays.asList(category.split(",")) : null; // 카테고리 받아온거
+        Page<AllLecturesResponse> lectures = lectureRepository.findByHashtag(categories, keywords, sort, pageable);
+        return new PageImpl<>(withLiveLikeCounts(lectures.getContent()), lectures.getPageable(), lectures.getTotalElements());
     }
 
     // 검색어별 조회
@@ -136,102 +184,154 @@ public class LectureService {
         return lecture.orElse(null);
     }
 
-    // 강의글 상세 조회
-    public DetailLectureResponse getLecture(Lecture lecture, User user){
+    // 강의글 상세 조회 (없는 강의면 null)
+    // 사용자와 무관한 부분은 LectureDetailCache 에서, 좋아요 여부/리뷰 작성자 여부만 요청마다 계산
+    // 강의는 캐시가 제거 횟수를 읽은 뒤 loader 안에서 조회 (먼저 읽어둔 엔티티로 만들면 그 사이 커밋된 변경이 빠진 값이 캐시됨)
+    // loader 는 새 READ COMMITTED 트랜잭션(새 영속성 컨텍스트)에서 실행
+    // -> 호출한 트랜잭션의 REPEATABLE READ snapshot 은 제거 횟수를 읽기 전에 열렸을 수 있어서, 그대로 읽으면 제거된 변경 이전 값이 캐시됨
+    public DetailLectureResponse getLecture(Long lectureId, User user){
+        TransactionTemplate readCommitted = new TransactionTemplate(transactionManager);
+        readCommitted.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        readCommitted.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        readCommitted.setReadOnly(true);
+        LectureDetailCache.Snapshot snapshot = lectureDetailCache.get(lectureId,
+                id -> readCommitted.execute(status -> this.loadDetail(id)));
+        if(snapshot == null)
+            return null;
+
+        // 좋아요 누른 여부 (write-behind 버퍼에 아직 반영 안 된 토글 먼저)
+        Integer buffered = likeWriteBuffer.bufferedState(LikeTarget.LECTURE, lectureId, user.getUserId());
+        boolean likeStatus = buffered != null ? buffered == 1 : likeRepository.findLikeByLectureAndUser(lectureRepository.getById(lectureId), user)
+                .map(like -> like.getLikeStatus() == 1)
+                .orElse(false);
+        return snapshot.toResponse(user.getUserId(), likeStatus);
+    }
+
+    private LectureDetailCache.Snapshot loadDetail(Long lectureId){
+        Lecture lecture = this.findById(lectureId);
+        if(lecture == null)
+            return null;
         DetailLectureResponse detailLectureResponse = DetailLectureResponse.from(lecture);
-        List<Review> reviews = reviewRepository.findByLecture(lecture); // lecture 를 갖고 reviews 에 있는 모든 데이터 가져오기
-        List<DetailReviewResponse> detailReviewResponses = new ArrayList<>();
-
-        for(int i=0;i<reviews.size();i++){ // 특정 강의에 해당하는 리뷰들을 찾기 위해서
-            DetailReviewResponse detailReviewResponse = DetailReviewResponse.from(reviews.get(i), lecture); // 해당 리뷰글 내가 쓴건지 니가 쓴건지 구분해야함
-            if(user.getUserId() == reviews.get(i).getUser().getUserId()) // 리뷰 등록자와 로그인한 사용자가 같다면
-                detailReviewResponse.setWriterStatus(true);
-            detailReviewResponses.add(detailReviewResponse);
-        }
+        // 리뷰는 최신순 첫 페이지만 (나머지는 GET /reviews 로 cursor 페이지네이션)
+        List<Review> reviews = reviewRepository.findPageByLecture(lecture.getLectureId(), ReviewSort.NEWEST, null, DETAIL_REVIEW_SIZE + 1);
+        ReviewPageResponse firstPage = ReviewPageResponse.of(reviews, DETAIL_REVIEW_SIZE, this.getReviewCount(lecture), -1);
+        List<Long> writerIds = reviews.stream()
+                .limit(DETAIL_REVIEW_SIZE)
+                .map(review -> review.getUser().getUserId())
+                .collect(Collectors.toList());
 
         detailLectureResponse.setLikeCnt(this.getLikeCount(lecture));
         detailLectureResponse.setReviewCnt(this.getReviewCount(lecture));
-        detailLectureResponse.setReviews(detailReviewResponses);
+        detailLectureResponse.setNextReviewCursor(firstPage.getNextCursor());
         detailLectureResponse.setHashtags(this.getHashtags(lecture.getLectureId()));
-
-        // 좋아요 누른 여부
-        Optional<Like> like = likeRepository.findLikeByLectureAndUser(lecture, user);
-        if(like.isPresent()) { // 좋아요 요청을 했던 경우
-            if (like.get().getLikeStatus() == 1)
-                detailLectureResponse.setLikeStatus(true);
-            else
-                detailLectureResponse.setLikeStatus(false);
-        } else
-            detailLectureResponse.setLikeStatus(false);
-        return detailLectureResponse;
+        return new LectureDetailCache.Snapshot(detailLectureResponse, firstPage.getReviews(), writerIds);
     }
 
     // 강의 등록
     public long saveLecture(Lecture lecture){
         Lecture savedLecture = lectureRepository.save(lecture);
+        lectureUrlIndex.addLecture(UrlCanonicalizer.canonicalHash(savedLecture.getLectureUrl()));
         return savedLecture.getLectureId();
     }
 
     // 강의 수정
     public void updateLecture(LectureDto lectureDto, Long lectureId){
         lectureRepository.updateLecture(lectureDto, lectureId);
+        lectureUrlIndex.addLecture(UrlCanonicalizer.canonicalHash(lectureDto.getLectureUrl()));
+        eventPublisher.publishEvent(new LectureChangedEvent(lectureId));
+        // bulk update 는 엔티티 리스너를 거치지 않으므로 검색 인덱스 반영 이벤트 직접 발행
+        eventPublisher.publishEvent(SearchIndexEvent.ofLecture(lectureId, lectureDto.getLectureTitle(), lectureDto.getLecturer(), lectureDto.getSiteName()));
     }
 
     // 강의 삭제
     public void deleteLecture(Long lectureId){
         lectureRepository.deleteLecture(lectureId);
+        eventPublisher.publishEvent(new LectureHashtagChangedEvent(lectureId));
+        eventPublisher.publishEvent(new LectureChangedEvent(lectureId));
+        eventPublisher.publishEvent(SearchIndexEvent.removed(SearchType.LECTURE, lectureId));
     }
 
     // 해시태그 저장
+    // 해시태그 이름 -> id 를 IN 쿼리로 한 번에 찾고(없는 건 한 번에 생성), 강의-해시태그 연결도 batch insert 한 번
     public void manageHashtag(List<String> hashtags, Lecture lecture){
-        for (int i = 0; i < hashtags.size(); i++) {
-            Optional<Hashtag> existedHashtag = hashtagRepository.findByHashtagName(hashtags.get(i));
-            LectureHashtag lectureHashtag = new LectureHashtag();
-            if(existedHashtag.isPresent()) { // 이미 들어간 해시태그라면 id 받아오기
-                lectureHashtag.setHashtag(existedHashtag.get());
-            }
-            else { // 없는 해시태그라면 해시태그를 생성하고 나서 lectureHashtag에 넣기
-                Hashtag hashtag = new Hashtag(hashtags.get(i));
-                hashtagRepository.save(hashtag);
-                lectureHashtag.setHashtag(hashtag);
-            }
-            lectureHashtag.setLecture(lecture);
-            lectureHashtagRepository.save(lectureHashtag);
-        }
+        Map<String, Long> hashtagIds = hashtagService.resolveHashtags(hashtags);
+        lectureHashtagRepository.insertLinks(lecture.getLectureId(), new LinkedHashSet<>(hashtagIds.values()));
+        eventPublisher.publishEvent(new LectureHashtagChangedEvent(lecture.getLectureId()));
+        eventPublisher.publishEvent(new LectureChangedEvent(lecture.getLectureId()));
     }
 
     // 강의에 달린 리뷰 갯수 가져오기
     public int getReviewCount(Lecture lecture){
-        List<Review> reviews = reviewRepository.findByLecture(lecture); // lecture 를 갖고 reviews 에 있는 모든 데이터 가져오기
-        return reviews.size();
+        return lecture.getReviewCount();
     }
 
-    // 강의 좋아요 갯수 가져오기
+    // 강의 좋아요 갯수 가져오기 (Redis 카운터를 쓰면 그 값, 목록과 같은 값이 보이도록)
     public int getLikeCount(Lecture lecture){
-        List<Like> likes = likeRepository.findLikeByLecture(lecture); // lecture 를 갖고 reviews 에 있는 모든 데이터 가져오기
-        return likes.size();
+        return likeCounterStore.count(LikeTarget.LECTURE, lecture.getLectureId(), lecture.getLikeCount());
     }
 
 
     // 강의 해시태그 가져오기
     public List<String> getHashtags(Long lectureId){
-        Optional<Lecture> lecture = lectureRepository.findById(lectureId);
-        List<String> hashtags = new ArrayList<>(); // hashtag 담을 list 생성
-        List<LectureHashtag> lectureHashtags = lectureHashtagRepository.findByLecture(lecture.get());
-        for(int i=0;i<lectureHashtags.size();i++)
-            hashtags.add(lectureHashtags.get(i).getHashtag().getHashtagName());
-        return hashtags;
+        return lectureHashtagService.hashtagsFor(lectureId);
+    }
+
+    // 여러 강의 해시태그 한 번에 가져오기 (목록 화면용, 강의마다 getHashtags 호출하지 말 것)
+    public Map<Long, List<String>> hashtagsFor(Collection<Long> lectureIds){
+        return lectureHashtagService.hashtagsFor(lectureIds);
     }
 
-    // url 중복 조회용
+    // url 중복 조회용 (조회 화면)
+    // 정규화한 url 의 hash 로 조회, Bloom filter 에서 확실히 없다고 하면 DB 조회 없이 null
     public Lecture findByUrl(String lectureUrl){
-        Optional<Lecture> lecture = lectureRepository.findBylectureUrl(lectureUrl);
+        return this.findByUrl(lectureUrl, true);
+    }
+
+    // useFilter=false: 저장 전 중복 확인처럼 틀리면 안 되는 경우 (다른 서버에서 막 저장된 url 은 필터에 아직 없을 수 있음)
+    private Lecture findByUrl(String lectureUrl, boolean useFilter){
+        String hash = UrlCanonicalizer.canonicalHash(lectureUrl);
+        if(hash == null || (useFilter && !lectureUrlIndex.mightContainLecture(hash)))
+            return null;
+        Optional<Lecture> lecture = lectureRepository.findFirstByCanonicalUrlHashOrderByLectureIdAsc(hash);
+        if(lecture.isEmpty() && !lectureUrlIndex.isReady()) // 시작 직후 backfill 전에는 원래 url 로도 확인
+            lecture = lectureRepository.findBylectureUrl(lectureUrl);
         return lecture.orElse(null);
     }
 
+    // 여러 url 한 번에 중복 조회 (정규화 hash -> 강의), 없는 url 은 map 에 없음
+    public Map<String, Lecture> findByUrls(Collection<String> lectureUrls){
+        if(!lectureUrlIndex.isReady()){ // backfill 전에는 한 건씩 (원래 url 로도 확인)
+            Map<String, Lecture> lectures = new HashMap<>();
+            for(String lectureUrl : lectureUrls){
+                Lecture lecture = this.findByUrl(lectureUrl);
+                if(lecture != null)
+                    lectures.putIfAbsent(UrlCanonicalizer.canonicalHash(lectureUrl), lecture);
+            }
+            return lectures;
+        }
+        Set<String> hashes = lectureUrls.stream()
+                .map(UrlCanonicalizer::canonicalHash)
+                .filter(hash -> hash != null && lectureUrlIndex.mightContainLecture(hash))
+                .collect(Collectors.toSet());
+        if(hashes.isEmpty())
+            return new HashMap<>();
+        return lectureRepository.findByCanonicalUrlHashIn(hashes)
+                .stream()
+                .collect(Collectors.toMap(Lecture::getCanonicalUrlHash, lecture -> lecture,
+                        (a, b) -> a.getLectureId() < b.getLectureId() ? a : b));
+    }
+
     // url 중복 조회 후 있으면 리턴
     public LectureUrlResponse getLectureUrl(String lectureUrl){
-        Lecture lecture = this.findByUrl(lectureUrl);
+        return this.toLectureUrlResponse(this.findByUrl(lectureUrl, true));
+    }
+
+    // 저장 전 중복 확인용 - 필터 없이 항상 DB 조회
+    public LectureUrlResponse getRegisteredLectureUrl(String lectureUrl){
+        return this.toLectureUrlResponse(this.findByUrl(lectureUrl, false));
+    }
+
+    private LectureUrlResponse toLectureUrlResponse(Lecture lecture){
         if(lecture != null) {
             LectureUrlResponse lectureUrlResponse = LectureUrlResponse.from(lecture);
             lectureUrlResponse.setHashtags(this.getHashtags(lecture.getLectureId()));
@@ -240,9 +340,14 @@ public class LectureService {
         else return null;
     }
 
-    // 강의 요청된 url 확인
+    // 강의 요청된 url 확인 (저장 전 중복 확인이므로 항상 DB 조회)
     public RequestedLecture findByRequestedLecture(String url){
-        Optional<RequestedLecture> requestedLecture = requestedLectureRepository.findByLectureUrl(url);
+        String hash = UrlCanonicalizer.canonicalHash(url);
+        if(hash == null)
+            return null;
+        Optional<RequestedLecture> requestedLecture = requestedLectureRepository.findFirstByCanonicalUrlHashOrderByRequestedLectureIdAsc(hash);
+        if(requestedLecture.isEmpty() && !lectureUrlIndex.isReady())
+            requestedLecture = requestedLectureRepository.findByLectureUrl(url);
         return requestedLecture.orElse(null);
     }
 
@@ -256,24 +361,9 @@ public class LectureService {
     }
 
 
+    // 사이트별 크롤러는 크롤링 스케줄러에서 비동기로 실행됨
     public int callRequestedLectureCrawler(String url,Long lectureId){
-        if(url.contains("nomadcoders")){
-            crawler.nomadcoders(url,lectureId);
-        }else if(url.contains("projectlion")){
-            crawler.projectlion(url,lectureId);
-        }else if(url.contains("udemy")){
-            crawler.udemy(url,lectureId);
-        }else if(url.contains("youtu")){
-            crawler.youtube(url,lectureId);
-        }else if(url.contains("fastcampus")){
-            crawler.fastcampus(url,lectureId);
-        }else if(url.contains("inflearn")){
-            crawler.inflearn(url,lectureId);
-        }else if(url.contains("spartacoding")){
-            crawler.spartaCoding(url,lectureId);
-        }else if(url.contains("opentutorials")){
-            crawler.codingEverybody(url,lectureId);
-        }else{
+        if(!crawler.crawl(url,lectureId)){
             return -1;
         }
         return 1;
@@ -0,0 +1,38 @@
+package com.example.demo.lecture;
+
+import com.example.demo.lecture.dto.AllLecturesResponse;
+
+import java.util.Locale;
+
+// 강의 목록 정렬 (값이 같으면 최신 강의 먼저) - 별점/좋아요/리뷰는 lectures 의 카운터 컬럼 기준
+public enum LectureSort {
+    NEWEST,  // 최신순
+    RATING,  // 별점 높은순 (avgRate)
+    LIKES,   // 좋아요 많은순 (likeCount)
+    REVIEWS; // 리뷰 많은순 (reviewCount)
+
+    // 요청 파라미터 (대소문자 무시, 없으면 최신순), 모르는 이름이면 IllegalArgumentException
+    public static LectureSort from(String sort) {
+        if (sort == null || sort.isBlank())
+            return NEWEST;
+        return LectureSort.valueOf(sort.trim().toUpperCase(Locale.ROOT));
+    }
+
+    // seek cursor 에 넣는 정렬 값
+    public Object keyOf(AllLecturesResponse lecture) {
+        switch (this) {
+            case RATING:
+                return lecture.getAvgRate();
+            case LIKES:
+                return lecture.getLikeCnt();
+            case REVIEWS:
+                return lecture.getReviewCnt();
+            default:
+                return lecture.getLectureId();
+        }
+    }
+
+    public String cursorName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
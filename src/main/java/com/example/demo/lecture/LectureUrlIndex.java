@@ -0,0 +1,216 @@
+package com.example.demo.lecture;
+
+import com.example.demo.util.BloomFilter;
+import com.example.demo.util.UrlCanonicalizer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * 등록된 강의 url 조회용 Bloom filter (조회 화면 전용)
+ * - "확실히 없는 url" 이면 DB 조회 없이 바로 없는 url 로 판단 (대부분의 요청이 여기에 해당)
+ * - 있을 수도 있으면 canonical_url_hash 인덱스로 DB 조회
+ * - 필터는 서버마다 따로 가지고 있으므로 저장된 url 은 Redis pub/sub 으로 모든 서버에 알림
+ *   (Redis 장애 / 재연결 중에 놓친 url 은 다음 rebuild 까지 "없음" 으로 보일 수 있음)
+ *   -> 강의 요청, 엑셀 등록처럼 중복 저장이 생기는 쓰기 경로는 필터를 쓰지 않고 항상 DB 조회
+ *
+ * 시작 시 canonical_url_hash 가 비어있는 기존 row 를 채우고(backfill) 필터를 만듦 -> 그 전까지는 항상 DB 조회
+ * backfill 이 끝까지 성공해야 필터를 만듦 (실패하면 다음 rebuild 때 backfill 부터 다시)
+ * 삭제된 url, 알림을 놓친 url 은 주기적으로 필터를 다시 만들면서 반영
+ */
+@Slf4j
+@Component
+public class LectureUrlIndex {
+    private static final int BACKFILL_CHUNK = 500;
+    private static final String CHANNEL = "lecture:url-added";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StringRedisTemplate redisTemplate;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+
+    // backfill 완료 전에 만든 필터는 hash 가 빠진 row 를 "확실히 없음" 으로 판단하므로 완료 후에만 만듦
+    private volatile boolean backfilled;
+    private final AtomicBoolean backfilling = new AtomicBoolean();
+
+    private volatile BloomFilter lectureUrls;
+    // 다시 만드는 중에 추가된 url 도 새 필터에 들어가도록
+    private BloomFilter rebuildingLectureUrls;
+
+    public LectureUrlIndex(JdbcTemplate jdbcTemplate,
+                           StringRedisTemplate redisTemplate,
+                           RedisMessageListenerContainer listenerContainer,
+                           @Value("${lecture.url-filter.expected-insertions:100000}") long expectedInsertions,
+                           @Value("${lecture.url-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.redisTemplate = redisTemplate;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        // 다른 서버(자기 자신 포함)에서 저장된 url 을 필터에 추가
+        listenerContainer.addMessageListener((message, pattern) -> add(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(CHANNEL));
+    }
+
+    public boolean isReady() {
+        return lectureUrls != null;
+    }
+
+    // false 면 등록된 강의에 확실히 없는 url
+    public boolean mightContainLecture(String canonicalUrlHash) {
+        BloomFilter filter = lectureUrls;
+        return filter == null || filter.mightContain(canonicalUrlHash);
+    }
+
+    // 강의 저장/수정 시 - 바로 추가하고, 커밋 뒤에 한 번 더 + 다른 서버에 알림 (커밋 전에 시작된 rebuild 가 놓치지 않도록)
+    public void addLecture(String canonicalUrlHash) {
+        if (canonicalUrlHash == null) {
+            return;
+        }
+        add(canonicalUrlHash);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(canonicalUrlHash);
+                    publish(canonicalUrlHash);
+                }
+            });
+        } else {
+            publish(canonicalUrlHash);
+        }
+    }
+
+    private void publish(String canonicalUrlHash) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, canonicalUrlHash);
+        } catch (DataAccessException e) {
+            log.warn("lecture url publish failed, other servers pick it up on next rebuild - " + e.getMessage());
+        }
+    }
+
+    private synchronized void add(String canonicalUrlHash) {
+        if (lectureUrls != null)
+            lectureUrls.put(canonicalUrlHash);
+        if (rebuildingLectureUrls != null)
+            rebuildingLectureUrls.put(canonicalUrlHash);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${lecture.url-filter.rebuild-ms:600000}", initialDelayString = "${lecture.url-filter.rebuild-ms:600000}")
+    public void rebuild() {
+        if (!backfilled && !backfill()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            BloomFilter lectures = build();
+            log.info("lecture url filter rebuilt in " + (System.currentTimeMillis() - start) + "ms ("
+                    + lectures.getBitCount() / 8 / 1024 + "KB, " + lectures.getHashCount() + " hashes)");
+        } catch (DataAccessException e) {
+            log.warn("lecture url filter rebuild failed, keeping previous filter - " + e.getMessage());
+        }
+    }
+
+    // 두 테이블 모두 채웠으면 true, 실패했거나 다른 스레드에서 진행 중이면 false (필터는 만들지 않음)
+    private boolean backfill() {
+        if (!backfilling.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            backfill("lectures", "lecture_id");
+            backfill("requested_lectures", "requested_lecture_id");
+            rehash("lectures", "lecture_id");
+            rehash("requested_lectures", "requested_lecture_id");
+            backfilled = true;
+            return true;
+        } catch (DataAccessException e) {
+            log.warn("canonical_url_hash backfill failed, duplicate checks use DB only - " + e.getMessage());
+            return false;
+        } finally {
+            backfilling.set(false);
+        }
+    }
+
+    private BloomFilter build() {
+        Long rows = jdbcTemplate.queryForObject("select count(*) from lectures", Long.class);
+        BloomFilter filter = new BloomFilter(Math.max(expectedInsertions, (rows == null ? 0 : rows) * 2), falsePositiveRate);
+        synchronized (this) {
+            rebuildingLectureUrls = filter;
+        }
+        boolean built = false;
+        try {
+            jdbcTemplate.query("select canonical_url_hash from lectures where canonical_url_hash is not null and canonical_url_hash <> ''",
+                    rs -> {
+                        filter.put(rs.getString(1));
+                    });
+            built = true;
+        } finally {
+            synchronized (this) {
+                if (built) lectureUrls = filter;
+                rebuildingLectureUrls = null;
+            }
+        }
+        return filter;
+    }
+
+    // canonical_url_hash 컬럼 추가 전에 저장된 row 채우기
+    private void backfill(String table, String idColumn) {
+        long filled = 0;
+        while (true) {
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList("select " + idColumn + " as id, lecture_url from " + table
+                    + " where canonical_url_hash is null order by " + idColumn + " limit " + BACKFILL_CHUNK);
+            if (rows.isEmpty())
+                break;
+            jdbcTemplate.batchUpdate("update " + table + " set canonical_url_hash = ? where " + idColumn + " = ?",
+                    rows.stream()
+                            .map(row -> new Object[]{hashOrEmpty((String) row.get("lecture_url")), row.get("id")})
+                            .collect(Collectors.toList()));
+            filled += rows.size();
+            if (rows.size() < BACKFILL_CHUNK)
+                break;
+        }
+        if (filled > 0)
+            log.info("canonical_url_hash backfill - " + table + ": " + filled + " rows");
+    }
+
+    // ref, si, feature, ref_src 를 모든 사이트에서 지우던 때 저장된 row 는 hash 가 달라졌으므로 다시 계산 (바뀐 row 만 update)
+    private void rehash(String table, String idColumn) {
+        List<Object[]> changed = jdbcTemplate.query("select " + idColumn + ", lecture_url, canonical_url_hash from " + table
+                        + " where lecture_url like '%?%' and (lecture_url like '%ref%' or lecture_url like '%si=%' or lecture_url like '%feature=%')",
+                (rs, rowNum) -> new Object[]{rs.getLong(1), rs.getString(2), rs.getString(3)})
+                .stream()
+                .filter(row -> !hashOrEmpty((String) row[1]).equals(row[2]))
+                .map(row -> new Object[]{hashOrEmpty((String) row[1]), row[0]})
+                .collect(Collectors.toList());
+        if (changed.isEmpty())
+            return;
+        jdbcTemplate.batchUpdate("update " + table + " set canonical_url_hash = ? where " + idColumn + " = ?", changed);
+        log.info("canonical_url_hash rehash - " + table + ": " + changed.size() + " rows");
+    }
+
+    // url 이 비어있는 row 는 빈 문자열로 채워서 다음 backfill 에서 다시 읽지 않도록
+    private String hashOrEmpty(String url) {
+        String hash = UrlCanonicalizer.canonicalHash(url);
+        return hash == null ? "" : hash;
+    }
+}
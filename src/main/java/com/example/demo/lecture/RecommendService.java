@@ -21,6 +21,7 @@ import java.io.OutputStreamWriter;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -47,8 +48,12 @@ public class RecommendService {
                 .map(AllLecturesForRecommendResponse::from)
                 .collect(Collectors.toList());
 
+        // 해시태그는 강의 id 를 모아서 한 번에 조회
+        Map<Long, List<String>> hashtags = lectureService.hashtagsFor(lectures.stream()
+                .map(AllLecturesForRecommendResponse::getLectureId)
+                .collect(Collectors.toList()));
         lectures.forEach(lecture ->
-                lecture.setHashtags(lectureService.getHashtags(lecture.getLectureId()))
+                lecture.setHashtags(hashtags.get(lecture.getLectureId()))
         );
         return lectures;
     }
@@ -66,8 +71,11 @@ public class RecommendService {
                 .map(LikedLecturesForRecommendResponse::from)
                 .collect(Collectors.toList());
 
+        Map<Long, List<String>> hashtags = lectureService.hashtagsFor(likedLectures.stream()
+                .map(LikedLecturesForRecommendResponse::getLectureId)
+                .collect(Collectors.toList()));
         likedLectures.forEach(lecture ->
-                lecture.setHashtags(lectureService.getHashtags(lecture.getLectureId()))
+                lecture.setHashtags(hashtags.get(lecture.getLectureId()))
         );
         return likedLectures;
     }
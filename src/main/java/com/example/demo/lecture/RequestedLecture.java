@@ -1,6 +1,7 @@
 package com.example.demo.lecture;
 
 import com.example.demo.user.domain.User;
+import com.example.demo.util.UrlCanonicalizer;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.sun.istack.NotNull;
 import lombok.Builder;
@@ -10,7 +11,7 @@ import lombok.NoArgsConstructor;
 import javax.persistence.*;
 
 @Entity
-@Table(name="requested_lectures")
+@Table(name="requested_lectures", indexes = @Index(name = "idx_requested_lecture_canonical_url_hash", columnList = "canonicalUrlHash"))
 @Data
 @NoArgsConstructor
 public class RequestedLecture {
@@ -23,6 +24,9 @@ public class RequestedLecture {
     @NotNull
     private String lectureUrl;
 
+    @Column(length = 64)
+    private String canonicalUrlHash; // 정규화한 lectureUrl 의 SHA-256 (중복 요청 조회용)
+
     @Column
     @NotNull
     private int managedStatus = 0;
@@ -37,6 +41,12 @@ public class RequestedLecture {
         this.managedStatus=status;
     }
 
+    @PrePersist
+    @PreUpdate
+    public void updateCanonicalUrlHash(){
+        this.canonicalUrlHash=UrlCanonicalizer.canonicalHash(lectureUrl);
+    }
+
     @Builder
     public RequestedLecture(String url, User user){
         this.lectureUrl=url;
@@ -0,0 +1,225 @@
+package com.example.demo.lecture;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * 인기 강의 순위 - 좋아요/리뷰/등록 요청 활동에 시간 감쇠(반감기)를 적용한 점수
+ * - 활동이 들어올 때마다 해당 강의 점수만 갱신 (요청마다 테이블에서 다시 계산하지 않음)
+ * - 점수는 baseTime 기준으로 저장 (weight * e^((t - baseTime) / tau)) -> 시간이 지나도 저장된 값을 고칠 필요 없이 순서가 유지됨
+ *   값이 너무 커지기 전에 checkpoint 에서 baseTime 을 현재로 옮김
+ * - 점수 순으로 정렬된 TreeSet 을 같이 유지해서 상위 K 개는 바로 꺼냄, 추적하는 강의 수는 max-tracked 로 제한 (가장 낮은 점수부터 버림)
+ * - 취소(좋아요 취소)는 강의별로 따로 쌓아둔 좋아요 점수 안에서만 뺌 -> 점수가 음수가 되거나 리뷰/요청 점수가 지워지지 않음
+ * - 주기적으로 lecture_trending_checkpoints 에 저장, 시작 시 불러와서 저장 시각 이후만큼 감쇠
+ *   (checkpoint 가 없으면 최근 리뷰로 한 번 채움 / 서버가 여러 대면 각 서버의 활동 기준)
+ */
+@Slf4j
+@Component
+public class TrendingLectures {
+    static final String CHECKPOINT_TABLE = "lecture_trending_checkpoints";
+    private static final double REBASE_EXPONENT = 50; // e^50 을 넘기 전에 baseTime 이동
+    private static final double MIN_SCORE = 1e-3; // 이보다 작아진 점수는 버림
+
+    private static class Ranked {
+        private final double score;
+        private final long lectureId;
+
+        private Ranked(double score, long lectureId) {
+            this.score = score;
+            this.lectureId = lectureId;
+        }
+    }
+
+    // 점수 -> id 순 (낮은 점수 먼저)
+    private static final Comparator<Ranked> ORDER = Comparator.<Ranked>comparingDouble(r -> r.score).thenComparingLong(r -> r.lectureId);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final double tauMs; // 반감기 / ln2
+    private final int maxTracked;
+    private final long seedWindowMs;
+
+    private long baseTime = System.currentTimeMillis();
+    private final Map<Long, Double> scores = new HashMap<>();
+    private final TreeSet<Ranked> ranking = new TreeSet<>(ORDER);
+    // scores 중 취소할 수 있는 활동(좋아요)으로 쌓인 부분, 같은 baseTime 기준 (checkpoint 에서 불러온 점수는 포함 안 됨)
+    private final Map<Long, Double> cancellable = new HashMap<>();
+
+    public TrendingLectures(JdbcTemplate jdbcTemplate,
+                            @Value("${lecture.trending.half-life-ms:86400000}") long halfLifeMs,
+                            @Value("${lecture.trending.max-tracked:10000}") int maxTracked,
+                            @Value("${lecture.trending.seed-window-ms:604800000}") long seedWindowMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tauMs = halfLifeMs / Math.log(2);
+        this.maxTracked = maxTracked;
+        this.seedWindowMs = seedWindowMs;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onActivity(LectureActivityEvent event) {
+        long now = System.currentTimeMillis();
+        if (event.getSign() < 0) {
+            cancel(event.getLectureId(), event.getActivity().getWeight(), now);
+        } else {
+            record(event.getLectureId(), event.getActivity().getWeight(), now, event.getActivity() == LectureActivityEvent.Activity.LIKE);
+        }
+    }
+
+    // 점수 높은 순 상위 size 개 (강의 id)
+    public synchronized List<Long> top(int size) {
+        List<Long> lectureIds = new ArrayList<>(Math.min(size, ranking.size()));
+        Iterator<Ranked> iterator = ranking.descendingIterator();
+        while (iterator.hasNext() && lectureIds.size() < size) {
+            lectureIds.add(iterator.next().lectureId);
+        }
+        return lectureIds;
+    }
+
+    // 현재 시각 기준 점수 (없으면 0)
+    public synchronized double scoreOf(long lectureId) {
+        Double score = scores.get(lectureId);
+        return score == null ? 0 : score * Math.exp(-(System.currentTimeMillis() - baseTime) / tauMs);
+    }
+
+    synchronized void record(long lectureId, double weight, long at) {
+        record(lectureId, weight, at, false);
+    }
+
+    synchronized void record(long lectureId, double weight, long at, boolean canCancel) {
+        if ((at - baseTime) / tauMs > REBASE_EXPONENT) {
+            rebase(at);
+        }
+        double amount = weight * Math.exp((at - baseTime) / tauMs);
+        if (canCancel) {
+            cancellable.merge(lectureId, amount, Double::sum);
+        }
+        update(lectureId, amount, at);
+    }
+
+    // 지금 시각의 weight 만큼 빼되 남아있는 (감쇠된) 취소 가능 점수까지만
+    // 원래 활동 시각을 따로 두지 않으므로, 오래된 좋아요 하나를 취소해도 그 강의에 남은 좋아요 점수 이상은 빠지지 않음
+    synchronized void cancel(long lectureId, double weight, long at) {
+        if ((at - baseTime) / tauMs > REBASE_EXPONENT) {
+            rebase(at);
+        }
+        Double available = cancellable.get(lectureId);
+        if (available == null) { // 이미 순위에서 빠졌거나 checkpoint 이전의 좋아요
+            return;
+        }
+        double amount = Math.min(available, weight * Math.exp((at - baseTime) / tauMs));
+        if (available - amount < MIN_SCORE * Math.exp((at - baseTime) / tauMs)) {
+            cancellable.remove(lectureId);
+        } else {
+            cancellable.put(lectureId, available - amount);
+        }
+        update(lectureId, -amount, at);
+    }
+
+    private void update(long lectureId, double amount, long at) {
+        Double old = scores.get(lectureId);
+        double updated = (old == null ? 0 : old) + amount;
+        if (old != null) {
+            ranking.remove(new Ranked(old, lectureId));
+        }
+        if (updated < MIN_SCORE * Math.exp((at - baseTime) / tauMs)) { // 취소로 0 이 된 경우 등
+            remove(lectureId);
+            return;
+        }
+        scores.put(lectureId, updated);
+        ranking.add(new Ranked(updated, lectureId));
+        if (ranking.size() > maxTracked) {
+            remove(ranking.pollFirst().lectureId);
+        }
+    }
+
+    private void remove(long lectureId) {
+        scores.remove(lectureId);
+        cancellable.remove(lectureId);
+    }
+
+    // 저장된 점수를 now 기준으로 다시 계산 (순서는 그대로), 작아진 점수는 버림
+    private void rebase(long now) {
+        double factor = Math.exp(-(now - baseTime) / tauMs);
+        List<Ranked> rebased = ranking.stream()
+                .map(r -> new Ranked(r.score * factor, r.lectureId))
+                .filter(r -> r.score >= MIN_SCORE)
+                .collect(Collectors.toList());
+        ranking.clear();
+        scores.clear();
+        for (Ranked r : rebased) {
+            ranking.add(r);
+            scores.put(r.lectureId, r.score);
+        }
+        cancellable.replaceAll((lectureId, amount) -> amount * factor);
+        cancellable.keySet().retainAll(scores.keySet());
+        baseTime = now;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        try {
+            jdbcTemplate.execute("create table if not exists " + CHECKPOINT_TABLE + " ("
+                    + "lecture_id bigint not null, score double not null, checkpointed_at bigint not null, primary key (lecture_id))");
+            List<Object[]> rows = jdbcTemplate.query("select lecture_id, score, checkpointed_at from " + CHECKPOINT_TABLE,
+                    (rs, rowNum) -> new Object[]{rs.getLong(1), rs.getDouble(2), rs.getLong(3)});
+            if (rows.isEmpty()) {
+                seedFromReviews();
+                return;
+            }
+            for (Object[] row : rows) { // 저장 당시 점수를 저장 시각의 활동 하나로 넣으면 이후 감쇠가 그대로 적용됨
+                record((Long) row[0], (Double) row[1], (Long) row[2]);
+            }
+            log.info("trending lectures restored - " + rows.size() + " lectures");
+        } catch (DataAccessException e) {
+            log.warn("trending lectures restore failed, starting empty - " + e.getMessage());
+        }
+    }
+
+    // checkpoint 가 없을 때 한 번만 - 최근 리뷰 작성 시각으로 점수 채우기 (좋아요는 시각이 없어서 제외)
+    private void seedFromReviews() {
+        long since = System.currentTimeMillis() - seedWindowMs;
+        int[] seeded = {0};
+        jdbcTemplate.query("select lecture_id, created_date from reviews where review_status = 1 and created_date >= ?",
+                rs -> {
+                    record(rs.getLong(1), LectureActivityEvent.Activity.REVIEW.getWeight(), rs.getTimestamp(2).getTime());
+                    seeded[0]++;
+                }, new Timestamp(since));
+        log.info("trending lectures seeded from " + seeded[0] + " recent reviews");
+    }
+
+    // 현재 점수를 저장 (row 마다 저장 시각을 같이 두므로 중간에 실패해도 남은 row 는 자기 시각 기준으로 감쇠)
+    @Scheduled(fixedDelayString = "${lecture.trending.checkpoint-ms:300000}", initialDelayString = "${lecture.trending.checkpoint-ms:300000}")
+    public void checkpoint() {
+        long now = System.currentTimeMillis();
+        List<Object[]> rows;
+        synchronized (this) {
+            rebase(now);
+            rows = ranking.stream()
+                    .map(r -> new Object[]{r.lectureId, r.score, now})
+                    .collect(Collectors.toList());
+        }
+        try {
+            jdbcTemplate.batchUpdate("insert into " + CHECKPOINT_TABLE + " (lecture_id, score, checkpointed_at) values (?, ?, ?) "
+                    + "on duplicate key update score = values(score), checkpointed_at = values(checkpointed_at)", rows);
+            jdbcTemplate.update("delete from " + CHECKPOINT_TABLE + " where checkpointed_at < ?", now); // 순위에서 빠진 강의
+        } catch (DataAccessException e) {
+            log.warn("trending lectures checkpoint failed - " + e.getMessage());
+        }
+    }
+}
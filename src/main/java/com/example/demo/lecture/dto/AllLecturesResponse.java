@@ -1,19 +1,25 @@
 package com.example.demo.lecture.dto;
 
 import com.example.demo.lecture.Lecture;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Getter
 @Setter
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class AllLecturesResponse {
     private long lectureId;
     private String lectureTitle;
     private String thumbnailUrl;
     private int likeCnt; // 좋아요 개수
+    private int reviewCnt; // 리뷰 개수
     private double avgRate; // 별점
+    private boolean likedByMe; // 로그인한 사용자가 좋아요 눌렀는지 (목록 조회 후 한 번에 채움)
 
     public static AllLecturesResponse from(Lecture lecture){
         return AllLecturesResponse.builder()
@@ -21,6 +27,8 @@ public class AllLecturesResponse {
                 .lectureTitle(lecture.getLectureTitle())
                 .thumbnailUrl(lecture.getThumbnailUrl())
                 .avgRate(lecture.getAvgRate())
+                .likeCnt(lecture.getLikeCount())
+                .reviewCnt(lecture.getReviewCount())
                 .build();
     }
 }
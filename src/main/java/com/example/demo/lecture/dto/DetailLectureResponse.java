@@ -9,7 +9,7 @@ import java.util.List;
 
 @Getter
 @Setter
-@Builder
+@Builder(toBuilder = true)
 public class DetailLectureResponse {
     private long lectureId;
     private String lectureTitle;
@@ -18,11 +18,13 @@ public class DetailLectureResponse {
     private String lectureUrl;
     private String thumbnailUrl;
     private double avgRate; // 별점 평균
+    private List<Integer> ratingHistogram; // 별점 1~5 별 리뷰 개수
     private List<String> hashtags; // 해시태그들
     private int reviewCnt; // 리뷰 개수
     private int likeCnt; // 좋아요 개수
     private boolean likeStatus; // 좋아요 한 여부
-    private List<DetailReviewResponse> reviews; // 강의 리뷰
+    private List<DetailReviewResponse> reviews; // 강의 리뷰 첫 페이지 (최신순, 전체 개수는 reviewCnt)
+    private String nextReviewCursor; // 다음 리뷰 페이지 cursor (GET /reviews?lectureId=&cursor=), 없으면 null
 
     // hashtags, reviews, likeStatus 따로 받아와야 함
     public static DetailLectureResponse from(Lecture lecture){
@@ -34,6 +36,7 @@ public class DetailLectureResponse {
                 .lectureUrl(lecture.getLectureUrl())
                 .thumbnailUrl(lecture.getThumbnailUrl())
                 .avgRate(lecture.getAvgRate())
+                .ratingHistogram(lecture.getRatingHistogram())
                 .build();
     }
 
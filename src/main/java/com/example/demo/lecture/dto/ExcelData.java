@@ -6,6 +6,7 @@ import lombok.Setter;
 @Getter
 @Setter
 public class ExcelData {
+    private int rowNum; // 엑셀 행 번호 (1부터, 에러 표시용)
     private String lectureUrl;
     private String lectureTitle;
     private String lecturer;
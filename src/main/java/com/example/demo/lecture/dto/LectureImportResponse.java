@@ -0,0 +1,45 @@
+package com.example.demo.lecture.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 엑셀 강의 일괄 등록 결과
+@Getter
+@NoArgsConstructor
+public class LectureImportResponse {
+    private int totalRows;
+    private int importedRows;
+    private int failedRows;
+    private long elapsedMs;
+    private double rowsPerSecond;
+    private List<RowError> errors = new ArrayList<>();
+
+    @Getter
+    @AllArgsConstructor
+    public static class RowError {
+        private int rowNum;
+        private String message;
+    }
+
+    public void addRow() {
+        totalRows++;
+    }
+
+    public void addImported(int count) {
+        importedRows += count;
+    }
+
+    public void addError(int rowNum, String message) {
+        failedRows++;
+        errors.add(new RowError(rowNum, message));
+    }
+
+    public void finish(long elapsedMs) {
+        this.elapsedMs = elapsedMs;
+        this.rowsPerSecond = elapsedMs == 0 ? totalRows : totalRows * 1000.0 / elapsedMs;
+    }
+}
@@ -11,6 +11,7 @@ import java.util.List;
 @Setter
 @Builder
 public class LectureUrlResponse {
+    private Long lectureId;
     private String lectureUrl;
     private String lectureTitle;
     private String lecturer;
@@ -19,6 +20,7 @@ public class LectureUrlResponse {
 
     public static LectureUrlResponse from(Lecture lecture){
         return LectureUrlResponse.builder()
+                .lectureId(lecture.getLectureId())
                 .lectureUrl(lecture.getLectureUrl())
                 .lectureTitle(lecture.getLectureTitle())
                 .lecturer(lecture.getLecturer())
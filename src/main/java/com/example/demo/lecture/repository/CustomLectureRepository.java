@@ -1,9 +1,38 @@
 package com.example.demo.lecture.repository;
 
+import com.example.demo.lecture.LectureSort;
+import com.example.demo.lecture.dto.AllLecturesResponse;
 import com.example.demo.lecture.dto.LectureDto;
+import com.example.demo.util.SeekCursor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 public interface CustomLectureRepository {
-//    List<Lecture> findByHashtag(List<String> categories);
+    // 카테고리(해시태그) 중 하나라도 달려있고 제목에 키워드가 들어간 강의, categories/keywords 가 null 이면 해당 조건 없음
+    // 정렬은 sort 로만 (pageable 의 정렬은 무시), 응답 Page 의 pageable 에는 sort 에 해당하는 정렬이 들어감
+    Page<AllLecturesResponse> findByHashtag(List<String> categories, String[] keywords, LectureSort sort, Pageable pageable);
+    // 같은 조건의 seek 페이징 (cursor 가 null 이면 첫 페이지)
+    List<AllLecturesResponse> findPageAfter(List<String> categories, String[] keywords, LectureSort sort, SeekCursor cursor, int limit);
     void updateLecture(LectureDto lectureDto, Long lectureId);
     void deleteLecture(Long lectureId);
+    List<AllLecturesResponse> findAllLecturesResponse(); // 목록 조회용 컬럼만 projection
+    List<AllLecturesResponse> findAllLecturesResponseByIds(Collection<Long> lectureIds);
+    void addLikeCount(Long lectureId, int delta);
+    void addReviewCount(Long lectureId, int delta);
+    // 별점 카운터 증감 (등록: removedRate null, 삭제: addedRate null, 수정: 둘 다) + avgRate 재계산
+    void applyRatingDelta(Long lectureId, Integer removedRate, Integer addedRate);
+    // reviews 를 강의별로 group by 해서 별점 카운터/avgRate 를 한 문장으로 다시 계산, 대상 강의 수 반환
+    int rebuildRatings();
+    int rebuildRatings(Long lectureId);
+    long countRatingDrift(); // 별점 개수/합계가 실제 reviews 와 다른 강의 수
+    // 카운터 보정용 : lastLectureId 이후 size 개의 (강의 id, 카운터 값)
+    Map<Long, Integer> findLikeCountsAfter(Long lastLectureId, int size);
+    Map<Long, Integer> findReviewCountsAfter(Long lastLectureId, int size);
+    // 읽어둔 값(expected)에서 바뀌지 않은 경우에만 보정 -> 그 사이 증감이 있었다면 다음 보정 때 처리
+    long fixLikeCount(Long lectureId, int expected, int actual);
+    long fixReviewCount(Long lectureId, int expected, int actual);
 }
@@ -1,34 +1,179 @@
 package com.example.demo.lecture.repository;
 
+import com.example.demo.lecture.LectureSort;
+import com.example.demo.lecture.dto.AllLecturesResponse;
 import com.example.demo.lecture.dto.LectureDto;
+import com.example.demo.util.SeekCursor;
+import com.example.demo.util.UrlCanonicalizer;
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.QBean;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.example.demo.hashtag.QHashtag.hashtag;
 import static com.example.demo.lecture.QLecture.lecture;
+import static com.example.demo.lectureHashtag.QLectureHashtag.lectureHashtag;
 
 @Repository
 @RequiredArgsConstructor
 public class CustomLectureRepositoryImpl implements CustomLectureRepository{
     private final JPAQueryFactory jpaQueryFactory;
-//
-//    @Override
-//    public List<Lecture> findByHashtag(List<String> categories){
-//        // categories 안에 해당 강의의 해시태그가 있는지
-//        jpaQueryFactory
-//                .selectFrom(lecture)
-//                .join(lecture.lectureHashtags, lectureHashtags)
-//                .fetchJoin()
-//                .
-//                .where(lecture.lectureHashtags.contains(categories));
-//    }
+    private final JdbcTemplate jdbcTemplate;
+
+    // MySQL 은 SET 을 왼쪽부터 적용하고 뒤의 식은 바뀐 값을 봄 -> avg_rate 는 마지막에 갱신된 합계/개수로 계산
+    private static final String AVG_RATE = "avg_rate = case when rating_count > 0 then round(rating_sum / rating_count, 1) else 0 end";
+    private static final String APPLY_RATING_DELTA = "update lectures set "
+            + "rating_sum = rating_sum + ?, rating_count = rating_count + ?, "
+            + "rating1_count = rating1_count + ?, rating2_count = rating2_count + ?, rating3_count = rating3_count + ?, "
+            + "rating4_count = rating4_count + ?, rating5_count = rating5_count + ?, "
+            + AVG_RATE + " where lecture_id = ?";
+    private static final String REBUILD_RATINGS = "update lectures l left join ("
+            + "select lecture_id, sum(rate) rating_sum, count(*) rating_count, "
+            + "sum(rate = 1) r1, sum(rate = 2) r2, sum(rate = 3) r3, sum(rate = 4) r4, sum(rate = 5) r5 "
+            + "from reviews where review_status = 1 %s group by lecture_id) r on r.lecture_id = l.lecture_id "
+            + "set l.rating_sum = coalesce(r.rating_sum, 0), l.rating_count = coalesce(r.rating_count, 0), "
+            + "l.rating1_count = coalesce(r.r1, 0), l.rating2_count = coalesce(r.r2, 0), l.rating3_count = coalesce(r.r3, 0), "
+            + "l.rating4_count = coalesce(r.r4, 0), l.rating5_count = coalesce(r.r5, 0), "
+            + "l.avg_rate = case when coalesce(r.rating_count, 0) > 0 then round(r.rating_sum / r.rating_count, 1) else 0 end %s";
+    // 별점 카운터가 실제 reviews 와 다른 강의 수 (review_count 카운터는 보정 전이라 믿을 수 없으므로 reviews 를 직접 셈)
+    private static final String RATING_DRIFT = "select count(*) from lectures l left join ("
+            + "select lecture_id, count(*) rating_count, sum(rate) rating_sum from reviews where review_status = 1 group by lecture_id"
+            + ") r on r.lecture_id = l.lecture_id "
+            + "where l.rating_count <> coalesce(r.rating_count, 0) or l.rating_sum <> coalesce(r.rating_sum, 0)";
+
+    // 목록 응답 컬럼 (좋아요/리뷰 개수는 카운터 컬럼)
+    private static final QBean<AllLecturesResponse> LIST_COLUMNS = Projections.fields(AllLecturesResponse.class,
+            lecture.lectureId,
+            lecture.lectureTitle,
+            lecture.thumbnailUrl,
+            lecture.avgRate,
+            lecture.likeCount.as("likeCnt"),
+            lecture.reviewCount.as("reviewCnt"));
+
+    @Override
+    public Page<AllLecturesResponse> findByHashtag(List<String> categories, String[] keywords, LectureSort sort, Pageable pageable) {
+        List<AllLecturesResponse> lectures = filteredLectures(categories, keywords)
+                .select(LIST_COLUMNS)
+                .distinct()
+                .orderBy(orderBy(sort))
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .fetch();
+
+        Long total = filteredLectures(categories, keywords)
+                .select(lecture.countDistinct())
+                .fetchOne();
+        return new PageImpl<>(lectures, PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sortOf(sort)), total == null ? 0 : total);
+    }
+
+    // orderBy 와 같은 정렬 (응답 Page 에 실제 정렬을 담기 위함)
+    private Sort sortOf(LectureSort sort) {
+        switch (sort) {
+            case RATING:
+                return Sort.by(Sort.Direction.DESC, "avgRate", "lectureId");
+            case LIKES:
+                return Sort.by(Sort.Direction.DESC, "likeCount", "lectureId");
+            case REVIEWS:
+                return Sort.by(Sort.Direction.DESC, "reviewCount", "lectureId");
+            default:
+                return Sort.by(Sort.Direction.DESC, "lectureId");
+        }
+    }
+
+    // seek 페이징 : cursor 의 (정렬 값, 강의 id) 뒤부터 limit 개 (offset/COUNT 없음)
+    @Override
+    public List<AllLecturesResponse> findPageAfter(List<String> categories, String[] keywords, LectureSort sort, SeekCursor cursor, int limit) {
+        JPAQuery<?> query = filteredLectures(categories, keywords);
+        if (cursor != null) {
+            query.where(after(sort, cursor));
+        }
+        return query
+                .select(LIST_COLUMNS)
+                .distinct()
+                .orderBy(orderBy(sort))
+                .limit(limit)
+                .fetch();
+    }
+
+    // 정렬 값 내림차순, 같으면 최신 강의 먼저
+    private OrderSpecifier<?>[] orderBy(LectureSort sort) {
+        switch (sort) {
+            case RATING:
+                return new OrderSpecifier<?>[]{lecture.avgRate.desc(), lecture.lectureId.desc()};
+            case LIKES:
+                return new OrderSpecifier<?>[]{lecture.likeCount.desc(), lecture.lectureId.desc()};
+            case REVIEWS:
+                return new OrderSpecifier<?>[]{lecture.reviewCount.desc(), lecture.lectureId.desc()};
+            default:
+                return new OrderSpecifier<?>[]{lecture.lectureId.desc()};
+        }
+    }
+
+    // (정렬 값, id) < (cursor 값, cursor id)
+    private BooleanExpression after(LectureSort sort, SeekCursor cursor) {
+        switch (sort) {
+            case RATING:
+                return lecture.avgRate.lt(cursor.doubleKey())
+                        .or(lecture.avgRate.eq(cursor.doubleKey()).and(lecture.lectureId.lt(cursor.getId())));
+            case LIKES:
+                return lecture.likeCount.lt(cursor.intKey())
+                        .or(lecture.likeCount.eq(cursor.intKey()).and(lecture.lectureId.lt(cursor.getId())));
+            case REVIEWS:
+                return lecture.reviewCount.lt(cursor.intKey())
+                        .or(lecture.reviewCount.eq(cursor.intKey()).and(lecture.lectureId.lt(cursor.getId())));
+            default:
+                return lecture.lectureId.lt(cursor.getId());
+        }
+    }
+
+    // 카테고리가 있으면 lecture_hashtags, hashtags 를 조인해서 해시태그 이름으로 거르고, 키워드는 AND 로 붙임
+    private JPAQuery<?> filteredLectures(List<String> categories, String[] keywords) {
+        JPAQuery<?> query = jpaQueryFactory.from(lecture);
+        if (categories != null) {
+            query.join(lecture.lectureHashtags, lectureHashtag)
+                    .join(lectureHashtag.hashtag, hashtag)
+                    .where(hashtag.hashtagName.in(categories));
+        }
+        if (keywords != null) {
+            query.where(titleContains(keywords));
+        }
+        return query;
+    }
 
+    // 공백으로 나뉜 키워드 중 하나라도 제목에 들어간 경우
+    private BooleanBuilder titleContains(String[] keywords) {
+        BooleanBuilder builder = new BooleanBuilder();
+        for (String keyword : keywords) {
+            builder.or(lecture.lectureTitle.contains(keyword));
+        }
+        return builder;
+    }
 
     @Override
     public void updateLecture(LectureDto lectureDto, Long lectureId) {
         jpaQueryFactory
                 .update(lecture)
                 .set(lecture.lectureUrl, lectureDto.getLectureUrl())
+                .set(lecture.canonicalUrlHash, UrlCanonicalizer.canonicalHash(lectureDto.getLectureUrl())) // bulk update 는 @PreUpdate 를 거치지 않음
                 .set(lecture.lectureTitle, lectureDto.getLectureTitle())
                 .set(lecture.lecturer, lectureDto.getLecturer())
                 .set(lecture.siteName, lectureDto.getSiteName())
@@ -44,4 +189,128 @@ public class CustomLectureRepositoryImpl implements CustomLectureRepository{
                 .where(lecture.lectureId.eq(lectureId))
                 .execute();
     }
+
+    // 전체 강의 목록을 엔티티 로딩 없이 한 번의 쿼리로 가져오기 (좋아요/리뷰 개수는 카운터 컬럼)
+    @Override
+    public List<AllLecturesResponse> findAllLecturesResponse() {
+        return jpaQueryFactory
+                .select(LIST_COLUMNS)
+                .from(lecture)
+                .fetch();
+    }
+
+    // 지정한 강의들만 목록 응답으로 (순서는 호출하는 쪽에서 맞춤)
+    @Override
+    public List<AllLecturesResponse> findAllLecturesResponseByIds(Collection<Long> lectureIds) {
+        if (lectureIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return jpaQueryFactory
+                .select(LIST_COLUMNS)
+                .from(lecture)
+                .where(lecture.lectureId.in(lectureIds))
+                .fetch();
+    }
+
+    // UPDATE lectures SET like_count = like_count + ? -> 동시에 눌러도 유실 없음
+    @Override
+    public void addLikeCount(Long lectureId, int delta) {
+        jpaQueryFactory
+                .update(lecture)
+                .set(lecture.likeCount, lecture.likeCount.add(delta))
+                .where(lecture.lectureId.eq(lectureId))
+                .execute();
+    }
+
+    @Override
+    public void addReviewCount(Long lectureId, int delta) {
+        jpaQueryFactory
+                .update(lecture)
+                .set(lecture.reviewCount, lecture.reviewCount.add(delta))
+                .where(lecture.lectureId.eq(lectureId))
+                .execute();
+    }
+
+    @Override
+    public void applyRatingDelta(Long lectureId, Integer removedRate, Integer addedRate) {
+        long sumDelta = 0;
+        int countDelta = 0;
+        int[] starDelta = new int[5];
+        if (removedRate != null) {
+            sumDelta -= removedRate;
+            countDelta--;
+            if (removedRate >= 1 && removedRate <= 5)
+                starDelta[removedRate - 1]--;
+        }
+        if (addedRate != null) {
+            sumDelta += addedRate;
+            countDelta++;
+            if (addedRate >= 1 && addedRate <= 5)
+                starDelta[addedRate - 1]++;
+        }
+        jdbcTemplate.update(APPLY_RATING_DELTA, sumDelta, countDelta,
+                starDelta[0], starDelta[1], starDelta[2], starDelta[3], starDelta[4], lectureId);
+    }
+
+    @Override
+    public int rebuildRatings() {
+        return jdbcTemplate.update(String.format(REBUILD_RATINGS, "", ""));
+    }
+
+    @Override
+    public int rebuildRatings(Long lectureId) {
+        return jdbcTemplate.update(String.format(REBUILD_RATINGS, "and lecture_id = ?", "where l.lecture_id = ?"), lectureId, lectureId);
+    }
+
+    @Override
+    public long countRatingDrift() {
+        Long drift = jdbcTemplate.queryForObject(RATING_DRIFT, Long.class);
+        return drift == null ? 0 : drift;
+    }
+
+    @Override
+    public Map<Long, Integer> findLikeCountsAfter(Long lastLectureId, int size) {
+        return jpaQueryFactory
+                .select(lecture.lectureId, lecture.likeCount)
+                .from(lecture)
+                .where(lecture.lectureId.gt(lastLectureId))
+                .orderBy(lecture.lectureId.asc())
+                .limit(size)
+                .fetch()
+                .stream()
+                .collect(Collectors.toMap(t -> t.get(0, Long.class), t -> t.get(1, Integer.class), (a, b) -> a, LinkedHashMap::new));
+    }
+
+    @Override
+    public Map<Long, Integer> findReviewCountsAfter(Long lastLectureId, int size) {
+        return jpaQueryFactory
+                .select(lecture.lectureId, lecture.reviewCount)
+                .from(lecture)
+                .where(lecture.lectureId.gt(lastLectureId))
+                .orderBy(lecture.lectureId.asc())
+                .limit(size)
+                .fetch()
+                .stream()
+                .collect(Collectors.toMap(t -> t.get(0, Long.class), t -> t.get(1, Integer.class), (a, b) -> a, LinkedHashMap::new));
+    }
+
+    @Override
+    @Transactional
+    public long fixLikeCount(Long lectureId, int expected, int actual) {
+        return jpaQueryFactory
+                .update(lecture)
+                .set(lecture.likeCount, actual)
+                .where(lecture.lectureId.eq(lectureId), lecture.likeCount.eq(expected))
+                .execute();
+    }
+
+    @Override
+    @Transactional
+    public long fixReviewCount(Long lectureId, int expected, int actual) {
+        return jpaQueryFactory
+                .update(lecture)
+                .set(lecture.reviewCount, actual)
+                .where(lecture.lectureId.eq(lectureId), lecture.reviewCount.eq(expected))
+                .execute();
+    }
 }
@@ -9,12 +9,17 @@ import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 // JPA criteria API 를 기반으로 Specification을 허용하는 인터페이스
 public interface LectureRepository extends JpaRepository<Lecture, Long>, JpaSpecificationExecutor<Lecture>, CustomLectureRepository {
     Optional<Lecture> findBylectureUrl(String lectureUrl);
+    // 같은 url 로 여러 번 등록된 경우(정규화 이전 데이터) 가장 먼저 등록된 강의
+    Optional<Lecture> findFirstByCanonicalUrlHashOrderByLectureIdAsc(String canonicalUrlHash);
+    List<Lecture> findByCanonicalUrlHashIn(Collection<String> canonicalUrlHashes);
     // findAll()에 Pageable 인터페이스로 파라미터를 넘기면 페이징 사용 가능
     Page<Lecture> findAll(@Nullable Specification<Lecture> spec, Pageable pageable);
 }
@@ -11,18 +11,4 @@ public class LectureSpecification {
         return (root, query, cb) ->
                 cb.like(root.get("lectureTitle"), "%"+keyword+"%");
     }
-    // 키워드가 해당 강의의 해시태그들 중에 속해있는 경우
-//    public static Specification<Lecture> categoryMatch(final String category) {
-//        // 각 강의마다 hashtag 리스트에 hashtag가 들어가 있는지
-//
-//        return (root, query, cb) -> {
-//            ListJoin<Employee, Phone> phoneJoin = root.join(Employee_.phones);
-//            ListJoin<Lecture, LectureHashtag> lectureJoin = root.join(Lecture_.lectureHashtags);
-//            System.out.println("lectureJoin = " + lectureJoin);
-//            Join<LectureHashtag, Hashtag> hashtagJoin = root.join("Hashtag", JoinType.INNER);
-//            List<String> categories = new ArrayList<>();
-//            return cb.in(category.value(lectureJoin.get("lectureId"));
-//            return null;
-//        };
-//    }
 }
@@ -11,5 +11,6 @@ import java.util.Optional;
 @Repository
 public interface RequestedLectureRepository extends JpaRepository<RequestedLecture, Long> {
     Optional<RequestedLecture> findByLectureUrl(String url);
+    Optional<RequestedLecture> findFirstByCanonicalUrlHashOrderByRequestedLectureIdAsc(String canonicalUrlHash);
     List<RequestedLecture> findAllByUser(User user);
 }
\ No newline at end of file
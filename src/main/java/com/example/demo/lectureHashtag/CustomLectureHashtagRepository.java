@@ -0,0 +1,11 @@
+package com.example.demo.lectureHashtag;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface CustomLectureHashtagRepository {
+    void insertLinks(long lectureId, Collection<Long> hashtagIds);
+
+    Map<Long, List<String>> findHashtagNamesByLectureIds(Collection<Long> lectureIds);
+}
@@ -0,0 +1,57 @@
+package com.example.demo.lectureHashtag;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.example.demo.hashtag.QHashtag.hashtag;
+import static com.example.demo.lectureHashtag.QLectureHashtag.lectureHashtag;
+
+@Repository
+@RequiredArgsConstructor
+public class CustomLectureHashtagRepositoryImpl implements CustomLectureHashtagRepository {
+    private final JdbcTemplate jdbcTemplate;
+    private final JPAQueryFactory jpaQueryFactory;
+
+    // 강의 하나의 해시태그 연결을 JDBC batch 로 한 번에 insert
+    // (IDENTITY id 라서 JPA saveAll 로는 batch 가 안 됨)
+    @Override
+    public void insertLinks(long lectureId, Collection<Long> hashtagIds) {
+        if (hashtagIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("insert into lecture_hashtags (lecture_id, hashtag_id) values (?, ?)",
+                hashtagIds.stream().map(hashtagId -> new Object[]{lectureId, hashtagId}).collect(Collectors.toList()));
+    }
+
+    // 여러 강의의 해시태그 이름을 IN 쿼리 한 번으로 (엔티티 로딩 없이 id, 이름만)
+    // 강의별 순서는 등록 순서(lectureTagId), 해시태그가 없는 강의는 map 에 없음
+    @Override
+    public Map<Long, List<String>> findHashtagNamesByLectureIds(Collection<Long> lectureIds) {
+        Map<Long, List<String>> result = new HashMap<>();
+        if (lectureIds.isEmpty()) {
+            return result;
+        }
+        List<Tuple> rows = jpaQueryFactory
+                .select(lectureHashtag.lecture.lectureId, hashtag.hashtagName)
+                .from(lectureHashtag)
+                .join(lectureHashtag.hashtag, hashtag)
+                .where(lectureHashtag.lecture.lectureId.in(lectureIds))
+                .orderBy(lectureHashtag.lectureTagId.asc())
+                .fetch();
+        for (Tuple row : rows) {
+            result.computeIfAbsent(row.get(lectureHashtag.lecture.lectureId), id -> new ArrayList<>())
+                    .add(row.get(hashtag.hashtagName));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.demo.lectureHashtag;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 강의의 해시태그 연결이 바뀌거나 강의가 삭제됐을 때 발행 -> 커밋 이후 해시태그 캐시에서 제거
+@Getter
+@AllArgsConstructor
+public class LectureHashtagChangedEvent {
+    private final long lectureId;
+}
@@ -5,6 +5,6 @@ import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
 
-public interface LectureHashtagRepository extends JpaRepository<LectureHashtag, Long> {
+public interface LectureHashtagRepository extends JpaRepository<LectureHashtag, Long>, CustomLectureHashtagRepository {
     List<LectureHashtag> findByLecture(Lecture lecture);
 }
@@ -1,16 +1,112 @@
 package com.example.demo.lectureHashtag;
 
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
-@RequiredArgsConstructor
 @Transactional
 public class LectureHashtagService {
     private final LectureHashtagRepository lectureHashtagRepository;
+
+    // 강의 id -> 해시태그 이름 캐시 (LRU + TTL)
+    // 해시태그가 없는 강의는 캐시하지 않음 -> 등록 직후 연결이 생기기 전에 조회돼도 빈 목록이 남지 않음
+    private final int cacheSize;
+    private final long cacheTtlMs;
+    private final LinkedHashMap<Long, CachedHashtags> cache;
+
+    private static class CachedHashtags {
+        private final List<String> hashtags;
+        private final long loadedAt;
+
+        private CachedHashtags(List<String> hashtags, long loadedAt) {
+            this.hashtags = hashtags;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    public LectureHashtagService(LectureHashtagRepository lectureHashtagRepository,
+                                 @Value("${lecture.hashtag-cache.max-size:1000}") int cacheSize,
+                                 @Value("${lecture.hashtag-cache.ttl-ms:300000}") long cacheTtlMs) {
+        this.lectureHashtagRepository = lectureHashtagRepository;
+        this.cacheSize = cacheSize;
+        this.cacheTtlMs = cacheTtlMs;
+        this.cache = new LinkedHashMap<Long, CachedHashtags>(16, 0.75f, true) { // 접근 순서
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedHashtags> eldest) {
+                return size() > LectureHashtagService.this.cacheSize;
+            }
+        };
+    }
+
     public long saveLectureHashtag(LectureHashtag reviewHashtag){
         LectureHashtag savedLectureHashtag = lectureHashtagRepository.save(reviewHashtag);
         return savedLectureHashtag.getLectureTagId();
     }
+
+    // 여러 강의의 해시태그를 한 번에 (캐시에 없는 강의만 IN 쿼리 한 번)
+    // 요청한 모든 id 가 key 로 들어있고, 해시태그가 없으면 빈 목록
+    @Transactional(readOnly = true)
+    public Map<Long, List<String>> hashtagsFor(Collection<Long> lectureIds) {
+        Map<Long, List<String>> result = new LinkedHashMap<>();
+        Set<Long> missing = new LinkedHashSet<>();
+        long now = System.currentTimeMillis();
+
+        synchronized (cache) {
+            for (Long lectureId : lectureIds) {
+                if (lectureId == null || result.containsKey(lectureId)) {
+                    continue;
+                }
+                CachedHashtags cached = cache.get(lectureId);
+                if (cached != null && now - cached.loadedAt < cacheTtlMs) {
+                    result.put(lectureId, cached.hashtags);
+                } else {
+                    result.put(lectureId, Collections.emptyList()); // 순서 유지용 자리, 아래에서 채움
+                    missing.add(lectureId);
+                }
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        Map<Long, List<String>> loaded = lectureHashtagRepository.findHashtagNamesByLectureIds(missing);
+        Map<Long, CachedHashtags> toCache = new HashMap<>();
+        for (Long lectureId : missing) {
+            List<String> hashtags = loaded.get(lectureId);
+            if (hashtags == null) {
+                continue;
+            }
+            List<String> unmodifiable = Collections.unmodifiableList(hashtags);
+            result.put(lectureId, unmodifiable);
+            toCache.put(lectureId, new CachedHashtags(unmodifiable, now));
+        }
+        synchronized (cache) {
+            cache.putAll(toCache);
+        }
+        return result;
+    }
+
+    public List<String> hashtagsFor(Long lectureId) {
+        return hashtagsFor(Collections.singletonList(lectureId)).get(lectureId);
+    }
+
+    // 커밋 전에 지우면 그 사이 다른 요청이 바뀌기 전 연결을 다시 캐시에 넣을 수 있으므로 커밋 이후에 제거
+    // 트랜잭션 밖에서 발행되면 바로 제거
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHashtagChanged(LectureHashtagChangedEvent event) {
+        synchronized (cache) {
+            cache.remove(event.getLectureId());
+        }
+    }
 }
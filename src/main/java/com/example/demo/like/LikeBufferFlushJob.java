@@ -0,0 +1,177 @@
+package com.example.demo.like;
+
+import com.example.demo.lecture.Lecture;
+import com.example.demo.lecture.LectureActivityEvent;
+import com.example.demo.lecture.LectureChangedEvent;
+import com.example.demo.lecture.RecommendService;
+import com.example.demo.lecture.repository.LectureRepository;
+import com.example.demo.roadmap.repository.RoadmapGroupRepository;
+import com.example.demo.study.repository.StudyPostRepository;
+import com.example.demo.user.domain.User;
+import com.example.demo.user.repository.UserRepository;
+import com.example.demo.userPreferenceHashtag.UserPreferenceHashtagService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * LikeWriteBuffer 에 쌓인 좋아요 상태를 likes 테이블에 묶음으로 반영
+ * - 대상 종류별로 기존 row 를 IN 쿼리 한 번으로 읽고, 상태가 실제로 바뀐 것만 insert / update batch
+ * - 좋아요 개수 카운터는 대상별 증감을 합쳐서 한 번씩, 강의 좋아요는 선호 해시태그/상세 캐시/인기 강의도 같이 반영
+ * - 추천 서버 호출은 커밋 이후 사용자별로 한 번
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LikeBufferFlushJob {
+    private static final String SELECT_LIKES = "select like_id, %s, user_id, like_status from likes where %s in (%s) and user_id in (%s)";
+    // 버퍼에 있는 동안 대상이 삭제됐으면 insert 하지 않음 (외래키 오류로 flush 전체가 막히지 않도록)
+    private static final String INSERT_LIKE = "insert into likes (%1$s, user_id, like_status) select ?, ?, ? from dual "
+            + "where exists (select 1 from %2$s where %1$s = ?)";
+    private static final String UPDATE_LIKE = "update likes set like_status = ? where like_id = ?";
+
+    private final LikeWriteBuffer likeWriteBuffer;
+    private final LikeCounterStore likeCounterStore;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final LectureRepository lectureRepository;
+    private final StudyPostRepository studyPostRepository;
+    private final RoadmapGroupRepository roadmapGroupRepository;
+    private final UserRepository userRepository;
+    private final UserPreferenceHashtagService preferenceHashtagService;
+    private final RecommendService recommendService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager em;
+
+    @Scheduled(fixedDelayString = "${like.write-behind.flush-ms:1000}")
+    public void flush() {
+        if (!likeWriteBuffer.isEnabled()) {
+            return;
+        }
+        String lockToken = likeWriteBuffer.tryLock();
+        if (lockToken == null) {
+            return;
+        }
+        try {
+            List<LikeWriteBuffer.Entry> entries = likeWriteBuffer.beginFlush();
+            if (entries.isEmpty()) {
+                return;
+            }
+            long start = System.currentTimeMillis();
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            List<User> likedLectureUsers = transaction.execute(status -> apply(entries));
+            if (!likeWriteBuffer.finishFlush(lockToken)) {
+                log.warn("like buffer lock expired during flush - flushing is kept and applied again by the next flush");
+            }
+            log.info("like buffer flushed - " + entries.size() + " likes in " + (System.currentTimeMillis() - start) + "ms");
+
+            for (User user : likedLectureUsers) { // 좋아요 상태 변경할 때마다 추천 연산 다시 하기 (사용자별 한 번)
+                recommendService.sendUserInfoAboutLike(user);
+            }
+        } finally {
+            likeWriteBuffer.unlock(lockToken);
+        }
+    }
+
+    // 반환 : 강의 좋아요가 바뀐 사용자
+    private List<User> apply(List<LikeWriteBuffer.Entry> entries) {
+        Map<Long, User> users = userRepository.findAllById(entries.stream()
+                        .map(LikeWriteBuffer.Entry::getUserId)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(User::getUserId, Function.identity()));
+        Set<User> likedLectureUsers = new LinkedHashSet<>();
+
+        Map<LikeTarget, List<LikeWriteBuffer.Entry>> byTarget = entries.stream()
+                .filter(entry -> users.containsKey(entry.getUserId())) // 탈퇴한 사용자
+                .collect(Collectors.groupingBy(LikeWriteBuffer.Entry::getTarget));
+        for (Map.Entry<LikeTarget, List<LikeWriteBuffer.Entry>> group : byTarget.entrySet()) {
+            LikeTarget target = group.getKey();
+            List<LikeWriteBuffer.Entry> changed = write(target, group.getValue());
+
+            Map<Long, Integer> deltas = new HashMap<>();
+            for (LikeWriteBuffer.Entry entry : changed) {
+                deltas.merge(entry.getTargetId(), entry.getState() == 1 ? 1 : -1, Integer::sum);
+            }
+            deltas.forEach((targetId, delta) -> addLikeCount(target, targetId, delta));
+
+            if (target == LikeTarget.LECTURE) {
+                for (LikeWriteBuffer.Entry entry : changed) {
+                    User user = users.get(entry.getUserId());
+                    Lecture lecture = em.getReference(Lecture.class, entry.getTargetId());
+                    preferenceHashtagService.updateUserPreferenceHashtag(user, lecture, entry.getState() == 1 ? 1 : -1);
+                    eventPublisher.publishEvent(entry.getState() == 1
+                            ? LectureActivityEvent.of(entry.getTargetId(), LectureActivityEvent.Activity.LIKE)
+                            : LectureActivityEvent.cancel(entry.getTargetId(), LectureActivityEvent.Activity.LIKE));
+                    likedLectureUsers.add(user);
+                }
+                deltas.keySet().forEach(lectureId -> eventPublisher.publishEvent(new LectureChangedEvent(lectureId)));
+            }
+        }
+        return new ArrayList<>(likedLectureUsers);
+    }
+
+    // 기존 row 와 비교해서 상태가 바뀐 것만 insert / update, 바뀐 항목 반환
+    private List<LikeWriteBuffer.Entry> write(LikeTarget target, List<LikeWriteBuffer.Entry> entries) {
+        String targetIds = entries.stream().map(e -> String.valueOf(e.getTargetId())).distinct().collect(Collectors.joining(","));
+        String userIds = entries.stream().map(e -> String.valueOf(e.getUserId())).distinct().collect(Collectors.joining(","));
+        Map<String, long[]> existing = new HashMap<>(); // "대상:사용자" -> {like_id, like_status}
+        jdbcTemplate.query(String.format(SELECT_LIKES, target.getColumn(), target.getColumn(), targetIds, userIds), rs -> {
+            existing.put(rs.getLong(2) + ":" + rs.getLong(3), new long[]{rs.getLong(1), rs.getInt(4)});
+        });
+
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        List<LikeWriteBuffer.Entry> changed = new ArrayList<>();
+        for (LikeWriteBuffer.Entry entry : entries) {
+            long[] row = existing.get(entry.getTargetId() + ":" + entry.getUserId());
+            if (row == null) {
+                if (entry.getState() == 0) // 누른 적 없는데 취소 (버퍼 안에서 좋아요 -> 취소)
+                    continue;
+                inserts.add(new Object[]{entry.getTargetId(), entry.getUserId(), entry.getState(), entry.getTargetId()});
+            } else if (row[1] != entry.getState()) {
+                updates.add(new Object[]{entry.getState(), row[0]});
+            } else { // 이미 반영된 상태 (이전 flush 가 커밋 후 중단된 경우 등)
+                continue;
+            }
+            changed.add(entry);
+        }
+        if (!inserts.isEmpty())
+            jdbcTemplate.batchUpdate(String.format(INSERT_LIKE, target.getColumn(), target.getTable()), inserts);
+        if (!updates.isEmpty())
+            jdbcTemplate.batchUpdate(UPDATE_LIKE, updates);
+        return changed.isEmpty() ? Collections.emptyList() : changed;
+    }
+
+    private void addLikeCount(LikeTarget target, Long targetId, int delta) {
+        if (delta == 0)
+            return;
+        switch (target) {
+            case LECTURE:
+                lectureRepository.addLikeCount(targetId, delta);
+                break;
+            case STUDY_POST:
+                studyPostRepository.addLikeCount(targetId, delta);
+                break;
+            default:
+                roadmapGroupRepository.addLikeCount(targetId, delta);
+        }
+        likeCounterStore.add(target, targetId, delta);
+    }
+}
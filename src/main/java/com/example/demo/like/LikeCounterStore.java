@@ -0,0 +1,164 @@
+package com.example.demo.like;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 좋아요 개수 Redis 카운터 (like.redis-counter.enabled=true 일 때만 사용)
+ * - 대상 종류별 hash 하나 (likes:count:{code}), field = 대상 id -> 목록 한 페이지의 개수를 HMGET 한 번으로 조회
+ * - 토글 커밋 이후 HINCRBY, 아직 없는 field 는 올리지 않음 (0 부터 세면 틀리므로) -> 처음 조회할 때 DB 카운터 값으로 채움
+ * - Redis 와 DB 가 어긋난 것은 CountReconciliationJob 이 chunk 단위로 차이만큼 HINCRBY 해서 보정 (읽어둔 값 그대로인 field 만)
+ * - Redis 오류가 나면 DB 카운터 값을 그대로 사용
+ */
+@Slf4j
+@Component
+public class LikeCounterStore {
+    private static final String KEY_PREFIX = "likes:count:";
+
+    // field 가 있을 때만 증감
+    private static final RedisScript<Long> INCREMENT_IF_PRESENT = new DefaultRedisScript<>(
+            "if redis.call('HEXISTS', KEYS[1], ARGV[1]) == 1 then "
+                    + "return redis.call('HINCRBY', KEYS[1], ARGV[1], ARGV[2]) end "
+                    + "return nil", Long.class);
+
+    // (field, 읽어둔 값, 차이) 묶음 - 읽어둔 뒤로 바뀌지 않은 field 만 차이만큼 HINCRBY (확인과 증감을 한 번에, 없는 field 는 건너뜀)
+    private static final RedisScript<Long> CORRECT = new DefaultRedisScript<>(
+            "local fixed = 0 "
+                    + "for i = 1, #ARGV, 3 do "
+                    + "  if redis.call('HGET', KEYS[1], ARGV[i]) == ARGV[i + 1] then "
+                    + "    redis.call('HINCRBY', KEYS[1], ARGV[i], ARGV[i + 2]) fixed = fixed + 1 "
+                    + "  end "
+                    + "end "
+                    + "return fixed", Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final boolean enabled;
+
+    public LikeCounterStore(StringRedisTemplate redisTemplate,
+                            @Value("${like.redis-counter.enabled:false}") boolean enabled) {
+        this.redisTemplate = redisTemplate;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // DB 카운터를 바꾼 트랜잭션이 커밋된 뒤에 반영 (롤백되면 반영 안 함)
+    public void add(LikeTarget target, long targetId, int delta) {
+        if (!enabled || delta == 0) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    increment(target, targetId, delta);
+                }
+            });
+        } else {
+            increment(target, targetId, delta);
+        }
+    }
+
+    private void increment(LikeTarget target, long targetId, int delta) {
+        try {
+            redisTemplate.execute(INCREMENT_IF_PRESENT, Collections.singletonList(key(target)),
+                    String.valueOf(targetId), String.valueOf(delta));
+        } catch (DataAccessException e) {
+            log.warn("like counter increment failed (" + target + " " + targetId + ") - " + e.getMessage());
+        }
+    }
+
+    // stored : DB 카운터 값 (대상 id -> 개수), Redis 값이 있으면 그 값으로, 없으면 stored 값으로 채워두고 사용
+    public Map<Long, Integer> counts(LikeTarget target, Map<Long, Integer> stored) {
+        if (!enabled || stored.isEmpty()) {
+            return stored;
+        }
+        List<Long> ids = new ArrayList<>(stored.keySet());
+        try {
+            List<String> live = read(target, ids);
+            Map<Long, Integer> counts = new LinkedHashMap<>();
+            Map<String, String> missing = new HashMap<>();
+            for (int i = 0; i < ids.size(); i++) {
+                Long id = ids.get(i);
+                if (live.get(i) != null) {
+                    counts.put(id, Integer.valueOf(live.get(i)));
+                } else {
+                    int count = stored.get(id) == null ? 0 : stored.get(id);
+                    counts.put(id, count);
+                    missing.put(String.valueOf(id), String.valueOf(count));
+                }
+            }
+            if (!missing.isEmpty()) { // 없는 field 는 한 번의 pipeline 으로 채움 (그 사이 다른 곳에서 채웠으면 그대로)
+                redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                    missing.forEach((field, value) -> stringConnection.hSetNX(key(target), field, value));
+                    return null;
+                });
+            }
+            return counts;
+        } catch (DataAccessException e) {
+            log.warn("like counter read failed (" + target + ") - " + e.getMessage());
+            return stored;
+        }
+    }
+
+    // 단건 조회 (상세 화면)
+    public int count(LikeTarget target, long targetId, Integer stored) {
+        return counts(target, Collections.singletonMap(targetId, stored)).get(targetId);
+    }
+
+    // ids 순서대로 Redis 값 (없으면 null), HMGET 한 번
+    public List<String> read(LikeTarget target, List<Long> ids) {
+        List<Object> fields = ids.stream().map(String::valueOf).collect(Collectors.toList());
+        List<Object> values = redisTemplate.opsForHash().multiGet(key(target), fields);
+        return values.stream().map(value -> value == null ? null : value.toString()).collect(Collectors.toList());
+    }
+
+    // 보정 : read 로 읽어둔 값(expected)에서 바뀌지 않은 field 만 actual 과의 차이만큼 증감, 보정된 field 수 반환
+    // 그 사이 HINCRBY 가 들어온 field 는 건너뛰므로 동시에 반영된 토글을 덮어쓰지 않음 (다음 보정 때 다시 비교)
+    public long correct(LikeTarget target, Collection<Long> ids, List<String> expected, Map<Long, Integer> actual) {
+        List<String> args = new ArrayList<>();
+        int i = 0;
+        for (Long id : ids) {
+            String before = expected.get(i++);
+            if (before == null) {
+                continue;
+            }
+            long delta = actual.getOrDefault(id, 0) - Long.parseLong(before);
+            if (delta != 0) {
+                args.add(String.valueOf(id));
+                args.add(before);
+                args.add(String.valueOf(delta));
+            }
+        }
+        if (args.isEmpty()) {
+            return 0;
+        }
+        Long fixed = redisTemplate.execute(CORRECT, Collections.singletonList(key(target)), args.toArray());
+        return fixed == null ? 0 : fixed;
+    }
+
+    private String key(LikeTarget target) {
+        return KEY_PREFIX + target.getCode();
+    }
+}
@@ -1,21 +1,35 @@
 package com.example.demo.like;
 
-import com.example.demo.dto.ResponseMessage;
 import com.example.demo.lecture.Lecture;
+import com.example.demo.lecture.LectureActivityEvent;
+import com.example.demo.lecture.LectureChangedEvent;
 import com.example.demo.lecture.RecommendService;
+import com.example.demo.lecture.repository.LectureRepository;
 import com.example.demo.roadmap.RoadMapGroup;
+import com.example.demo.roadmap.repository.RoadmapGroupRepository;
 import com.example.demo.study.domain.StudyPost;
+import com.example.demo.study.repository.StudyPostRepository;
 import com.example.demo.user.domain.User;
 import com.example.demo.like.repository.LikeRepository;
 import com.example.demo.userPreferenceHashtag.UserPreferenceHashtagService;
 import lombok.AllArgsConstructor;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -24,6 +38,13 @@ public class LikeService {
     private final UserPreferenceHashtagService preferenceHashtagService;
     private final LikeRepository likeRepository;
     private final RecommendService recommendService;
+    private final LectureRepository lectureRepository;
+    private final StudyPostRepository studyPostRepository;
+    private final RoadmapGroupRepository roadmapGroupRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LikeWriteBuffer likeWriteBuffer;
+    private final LikeCounterStore likeCounterStore;
+    private final PlatformTransactionManager transactionManager;
 
     public void saveLike(Like like){
         likeRepository.save(like);
@@ -40,34 +61,72 @@ public class LikeService {
         return like.orElse(null);
     }
 
+    // 특정 유저가 특정 강의에 좋아요 눌렀는지 (write-behind 버퍼에 아직 반영 안 된 토글 포함)
+    public boolean isLectureLiked(Lecture lecture, User user){
+        Integer buffered = likeWriteBuffer.bufferedState(LikeTarget.LECTURE, lecture.getLectureId(), user.getUserId());
+        if(buffered != null)
+            return buffered == 1;
+        Like like = this.findLikeByLectureAndUser(lecture, user);
+        return like != null && like.getLikeStatus() == 1;
+    }
+
+    // 목록 한 페이지 중 사용자가 좋아요 누른 대상 id - 쿼리 한 번 + write-behind 버퍼에 있는 토글 반영, 로그인 안 했으면 빈 set
+    public Set<Long> findLikedIds(LikeTarget target, User user, List<Long> targetIds){
+        Set<Long> liked = new HashSet<>();
+        if(user == null || targetIds.isEmpty())
+            return liked;
+        liked.addAll(likeRepository.findLikedTargetIds(target, user.getUserId(), targetIds));
+        return applyBuffered(liked, likeWriteBuffer.bufferedStates(target, user.getUserId(), targetIds));
+    }
+
+    // 페이지 없는 전체 목록용 - 목록 크기만큼 IN 절/HMGET field 를 만들지 않고 사용자 기준으로 한 번에 (사용자의 좋아요 수만큼만 읽음)
+    public Set<Long> findAllLikedIds(LikeTarget target, User user){
+        Set<Long> liked = new HashSet<>();
+        if(user == null)
+            return liked;
+        liked.addAll(likeRepository.findAllLikedTargetIds(target, user.getUserId()));
+        return applyBuffered(liked, likeWriteBuffer.allBufferedStates(target, user.getUserId()));
+    }
+
+    private Set<Long> applyBuffered(Set<Long> liked, Map<Long, Integer> buffered){
+        buffered.forEach((targetId, state) -> {
+            if(state == 1)
+                liked.add(targetId);
+            else
+                liked.remove(targetId);
+        });
+        return liked;
+    }
+
+    // 목록 응답에 likedByMe 채우기 (항목마다 조회하지 않고 findLikedIds 한 번)
+    public <T> void markLikedByMe(LikeTarget target, User user, List<T> items, Function<T, Long> idOf, BiConsumer<T, Boolean> setLiked){
+        Set<Long> liked = this.findLikedIds(target, user, items.stream().map(idOf).collect(Collectors.toList()));
+        items.forEach(item -> setLiked.accept(item, liked.contains(idOf.apply(item))));
+    }
+
+    // 전체 목록 응답에 likedByMe 채우기 (findAllLikedIds 한 번)
+    public <T> void markAllLikedByMe(LikeTarget target, User user, List<T> items, Function<T, Long> idOf, BiConsumer<T, Boolean> setLiked){
+        Set<Long> liked = items.isEmpty() ? new HashSet<>() : this.findAllLikedIds(target, user);
+        items.forEach(item -> setLiked.accept(item, liked.contains(idOf.apply(item))));
+    }
+
     // 좋아요 상태 변경하기
+    // 토글은 JDBC upsert 라서 이미 읽어둔 Like 엔티티에는 반영되지 않음 - 이후 상태는 토글 결과로만 판단 (세 changeLikeStatus 공통)
     public String changeLikeStatus(Lecture lecture, User user){
-        Like existedLike = this.findLikeByLectureAndUser(lecture, user);
-        if(existedLike!=null) { // 좋아요가 존재하는 경우
-            if(existedLike.getLikeStatus()==1) { // 이미 눌려있는 경우
-                existedLike.changeLikeStatus(0);
-                preferenceHashtagService.updateUserPreferenceHashtag(user,lecture,-1);
-                // 좋아요 상태 변경할 때마다 추천 연산 다시 하기
-                recommendService.sendUserInfoAboutLike(user);
-                return "like cancel";
-            }
-            else {
-                existedLike.changeLikeStatus(1);
-                preferenceHashtagService.updateUserPreferenceHashtag(user,lecture,1);
-                // 좋아요 상태 변경할 때마다 추천 연산 다시 하기
-                recommendService.sendUserInfoAboutLike(user);
-                return "like success again";
-            }
-        }
-        else {// 좋아요 처음 누른 경우
-            Like like = new Like(lecture, user);
-            this.saveLike(like);
-            preferenceHashtagService.updateUserPreferenceHashtag(user,lecture,1);
-            // 좋아요 상태 변경할 때마다 추천 연산 다시 하기
-            recommendService.sendUserInfoAboutLike(user);
-            return "like success";
-        }
-
+        if(likeWriteBuffer.isEnabled()) // 버퍼에 기록하고 바로 응답 (DB, 카운터, 선호 해시태그, 추천은 LikeBufferFlushJob 에서)
+            return toggleBuffered(LikeTarget.LECTURE, lecture.getLectureId(), user);
+        eventPublisher.publishEvent(new LectureChangedEvent(lecture.getLectureId())); // 커밋 이후 상세 캐시의 좋아요 개수 갱신
+        // 조회 없이 upsert 한 번으로 토글 (동시에 눌러도 unique 제약 예외나 유실 없음)
+        LikeToggleResult toggle = likeRepository.toggleLikeStatus(LikeTarget.LECTURE, lecture.getLectureId(), user.getUserId());
+        int delta = toggle.getState() == 1 ? 1 : -1;
+        addLikeCount(LikeTarget.LECTURE, lecture.getLectureId(), delta);
+        eventPublisher.publishEvent(delta == 1
+                ? LectureActivityEvent.of(lecture.getLectureId(), LectureActivityEvent.Activity.LIKE)
+                : LectureActivityEvent.cancel(lecture.getLectureId(), LectureActivityEvent.Activity.LIKE));
+        preferenceHashtagService.updateUserPreferenceHashtag(user,lecture,delta);
+        // 좋아요 상태 변경할 때마다 추천 연산 다시 하기
+        recommendService.sendUserInfoAboutLike(user);
+        return likeResult(toggle);
     }
 
     //studyPost와 user로 찾는게 있어야함
@@ -77,19 +136,99 @@ public class LikeService {
         return foundLike.orElse(null);
     }
 
+    public boolean isStudyPostLiked(StudyPost post, User user){
+        Integer buffered = likeWriteBuffer.bufferedState(LikeTarget.STUDY_POST, post.getStudyPostId(), user.getUserId());
+        if(buffered != null)
+            return buffered == 1;
+        Like like = this.findLikeByStudyPostandUser(post, user);
+        return like != null && like.getLikeStatus() == 1;
+    }
+
+    // 스터디글 좋아요 상태 변경하기
+    public String changeLikeStatus(StudyPost post, User user){
+        if(likeWriteBuffer.isEnabled())
+            return toggleBuffered(LikeTarget.STUDY_POST, post.getStudyPostId(), user);
+        LikeToggleResult toggle = likeRepository.toggleLikeStatus(LikeTarget.STUDY_POST, post.getStudyPostId(), user.getUserId());
+        addLikeCount(LikeTarget.STUDY_POST, post.getStudyPostId(), toggle.getState() == 1 ? 1 : -1);
+        return likeResult(toggle);
+    }
+
     public Integer getLikeCountOnStudyPost(StudyPost post){
-        List<Like> likesOnPost=likeRepository.findLikeByStudyPost(post);
-        return likesOnPost.size();
+        return likeCounterStore.count(LikeTarget.STUDY_POST, post.getStudyPostId(), post.getStudyLikeCount());
+    }
+
+    // 목록 한 페이지의 좋아요 개수 (스터디글 id -> 개수), Redis 카운터를 쓰면 HMGET 한 번
+    public Map<Long, Integer> getLikeCountsOnStudyPosts(Collection<StudyPost> posts){
+        Map<Long, Integer> stored = new LinkedHashMap<>();
+        posts.forEach(post -> stored.put(post.getStudyPostId(), post.getStudyLikeCount()));
+        return likeCounterStore.counts(LikeTarget.STUDY_POST, stored);
     }
 
     public Like findLikeByRoadmapAndUser(User user, RoadMapGroup group){
         return likeRepository.findLikeByRoadmapGroupAndUser(group,user);
     }
 
+    public boolean isRoadmapLiked(RoadMapGroup group, User user){
+        Integer buffered = likeWriteBuffer.bufferedState(LikeTarget.ROADMAP_GROUP, group.getRoadmapGroupId(), user.getUserId());
+        if(buffered != null)
+            return buffered == 1;
+        Like like = this.findLikeByRoadmapAndUser(user, group);
+        return like != null && like.getLikeStatus() == 1;
+    }
+
+    // 로드맵 좋아요 상태 변경하기
+    public String changeLikeStatus(RoadMapGroup group, User user){
+        if(likeWriteBuffer.isEnabled())
+            return toggleBuffered(LikeTarget.ROADMAP_GROUP, group.getRoadmapGroupId(), user);
+        LikeToggleResult toggle = likeRepository.toggleLikeStatus(LikeTarget.ROADMAP_GROUP, group.getRoadmapGroupId(), user.getUserId());
+        addLikeCount(LikeTarget.ROADMAP_GROUP, group.getRoadmapGroupId(), toggle.getState() == 1 ? 1 : -1);
+        return likeResult(toggle);
+    }
+
     public Integer getLikeCountOnRoadmap(RoadMapGroup group){
-        return likeRepository.findLikeByRoadmap(group).size();
+        return likeCounterStore.count(LikeTarget.ROADMAP_GROUP, group.getRoadmapGroupId(), group.getRoadmapGroupLikeCount());
     }
 
+    // 목록 한 페이지의 좋아요 개수 (로드맵 id -> 개수), Redis 카운터를 쓰면 HMGET 한 번
+    public Map<Long, Integer> getLikeCountsOnRoadmaps(Collection<RoadMapGroup> groups){
+        Map<Long, Integer> stored = new LinkedHashMap<>();
+        groups.forEach(group -> stored.put(group.getRoadmapGroupId(), group.getRoadmapGroupLikeCount()));
+        return likeCounterStore.counts(LikeTarget.ROADMAP_GROUP, stored);
+    }
 
+    // write-behind 모드의 토글 : 버퍼(또는 DB)의 현재 상태를 뒤집어서 버퍼에만 기록, 응답 문자열은 기존과 같음
+    // DB 상태는 새 READ COMMITTED 트랜잭션에서 JDBC 로 읽음 - 이 트랜잭션의 REPEATABLE READ snapshot 이나 영속성 컨텍스트의 Like 는
+    // flush 커밋 이전 값이라 generation 이 바뀐 뒤 다시 읽어도 그대로임
+    // flush 와 계속 겹쳐서 토글하지 못하면 "like busy" (컨트롤러에서 503)
+    private String toggleBuffered(LikeTarget target, long targetId, User user){
+        TransactionTemplate readCommitted = new TransactionTemplate(transactionManager);
+        readCommitted.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        readCommitted.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        readCommitted.setReadOnly(true);
+        LikeToggleResult toggle = likeWriteBuffer.toggle(target, targetId, user.getUserId(),
+                () -> readCommitted.execute(status -> likeRepository.findLikeStatus(target, targetId, user.getUserId())));
+        return toggle == null ? "like busy" : likeResult(toggle);
+    }
 
+    // 토글 결과 -> 응답 문자열 (최초 등록 / 다시 좋아요 / 취소)
+    private String likeResult(LikeToggleResult toggle){
+        if(toggle.getState() == 0)
+            return "like cancel";
+        return toggle.isFirstLike() ? "like success" : "like success again";
+    }
+
+    // 좋아요 개수 카운터 컬럼 증감 + 커밋 이후 Redis 카운터 증감
+    private void addLikeCount(LikeTarget target, Long targetId, int delta){
+        switch (target) {
+            case LECTURE:
+                lectureRepository.addLikeCount(targetId, delta);
+                break;
+            case STUDY_POST:
+                studyPostRepository.addLikeCount(targetId, delta);
+                break;
+            default:
+                roadmapGroupRepository.addLikeCount(targetId, delta);
+        }
+        likeCounterStore.add(target, targetId, delta);
+    }
 }
@@ -0,0 +1,38 @@
+package com.example.demo.like;
+
+// 좋아요 대상 종류 - code 는 버퍼 key 에, column 은 likes 테이블의 대상 외래키 컬럼 (대상 테이블의 id 컬럼과 이름이 같음)
+public enum LikeTarget {
+    LECTURE("L", "lectures", "lecture_id"),
+    STUDY_POST("S", "study_posts", "study_post_id"),
+    ROADMAP_GROUP("R", "roadmap_groups", "roadmap_group_id");
+
+    private final String code;
+    private final String table;
+    private final String column;
+
+    LikeTarget(String code, String table, String column) {
+        this.code = code;
+        this.table = table;
+        this.column = column;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public static LikeTarget fromCode(String code) {
+        for (LikeTarget target : values()) {
+            if (target.code.equals(code))
+                return target;
+        }
+        throw new IllegalArgumentException("알 수 없는 좋아요 대상: " + code);
+    }
+}
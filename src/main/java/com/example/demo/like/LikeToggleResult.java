@@ -0,0 +1,12 @@
+package com.example.demo.like;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 좋아요 토글 결과 (DB upsert / write-behind 버퍼 공통)
+@Getter
+@AllArgsConstructor
+public class LikeToggleResult {
+    private final int state; // 1: 좋아요, 0: 취소
+    private final boolean firstLike; // 이전에 row 도 버퍼 기록도 없던 좋아요 (최초 등록)
+}
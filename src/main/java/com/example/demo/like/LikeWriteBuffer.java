@@ -0,0 +1,203 @@
+package com.example.demo.like;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.function.Supplier;
+
+/**
+ * 좋아요 write-behind 버퍼 (like.write-behind.enabled=true 일 때만 사용)
+ * - 토글은 Redis hash 에 (대상, 사용자) -> 최종 상태만 기록하고 바로 응답 -> 같은 사용자의 연속 토글은 마지막 상태 하나로 합쳐짐
+ * - LikeBufferFlushJob 이 pending 을 flushing 으로 옮겨서 likes 테이블에 묶음으로 반영하고, 커밋 후 flushing 을 지움
+ *   (반영 도중 서버가 죽어도 flushing 이 남아있어서 다음 flush 에서 다시 반영, 같은 상태를 다시 써도 결과는 같음)
+ * - 조회는 pending -> flushing -> DB 순으로 보면 자기가 누른 좋아요가 바로 보임 (개수 카운터는 flush 뒤에 반영)
+ */
+@Component
+public class LikeWriteBuffer {
+    static final String PENDING = "likes:buffer:pending";
+    static final String FLUSHING = "likes:buffer:flushing";
+    static final String GENERATION = "likes:buffer:generation"; // flush 가 DB 에 커밋될 때마다 증가
+    static final String LOCK = "likes:buffer:lock"; // 여러 서버 중 한 곳만 flush, 값은 잡은 쪽의 token
+    private static final String RETRY = "retry";
+    private static final int MAX_TOGGLE_ATTEMPTS = 5;
+
+    // 버퍼의 최신 상태(pending -> flushing)를 뒤집어서 pending 에 기록, 버퍼에 없으면 DB 상태(ARGV[2])를 뒤집음
+    // DB 를 읽은 뒤 flush 가 커밋됐으면(generation 변경) 읽은 DB 상태가 오래된 것이므로 retry
+    private static final RedisScript<String> TOGGLE = new DefaultRedisScript<>(
+            "local current = redis.call('HGET', KEYS[1], ARGV[1]) "
+                    + "if not current then current = redis.call('HGET', KEYS[2], ARGV[1]) end "
+                    + "local source = 'b' "
+                    + "if not current then "
+                    + "  if (redis.call('GET', KEYS[3]) or '0') ~= ARGV[3] then return 'retry' end "
+                    + "  current = ARGV[2] source = 'd' "
+                    + "end "
+                    + "local updated = (current == '1') and '0' or '1' "
+                    + "redis.call('HSET', KEYS[1], ARGV[1], updated) "
+                    + "return updated .. source", String.class);
+
+    // 자기 token 일 때만 lock 해제 (timeout 으로 풀린 뒤 다른 서버가 잡은 lock 은 지우지 않음)
+    private static final RedisScript<Long> UNLOCK = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end "
+                    + "return 0", Long.class);
+
+    // flushing 이 없을 때만 pending 을 flushing 으로 옮기고 flushing 전체를 반환 (확인과 이동 사이에 다른 flush 가 끼지 않도록 한 번에)
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> BEGIN_FLUSH = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[2]) == 0 and redis.call('EXISTS', KEYS[1]) == 1 then "
+                    + "  redis.call('RENAME', KEYS[1], KEYS[2]) "
+                    + "end "
+                    + "return redis.call('HGETALL', KEYS[2])", List.class);
+
+    // generation 은 항상 증가 (DB 커밋은 이미 됨), flushing 은 lock 을 아직 갖고 있을 때만 지움
+    // lock 을 잃었으면 다른 서버가 새 pending 을 flushing 으로 옮겼을 수 있으므로 남겨둠 (다시 반영해도 결과는 같음)
+    private static final RedisScript<Long> FINISH_FLUSH = new DefaultRedisScript<>(
+            "redis.call('INCR', KEYS[1]) "
+                    + "if redis.call('GET', KEYS[2]) == ARGV[1] then redis.call('DEL', KEYS[3]) return 1 end "
+                    + "return 0", Long.class);
+
+    // 버퍼에 쌓인 (대상, 사용자) 별 최종 상태
+    @Getter
+    @AllArgsConstructor
+    public static class Entry {
+        private final LikeTarget target;
+        private final long targetId;
+        private final long userId;
+        private final int state;
+    }
+
+    private final StringRedisTemplate redisTemplate;
+    private final boolean enabled;
+    private final Duration lockTimeout;
+
+    public LikeWriteBuffer(StringRedisTemplate redisTemplate,
+                           @Value("${like.write-behind.enabled:false}") boolean enabled,
+                           @Value("${like.write-behind.lock-timeout-ms:30000}") long lockTimeoutMs) {
+        this.redisTemplate = redisTemplate;
+        this.enabled = enabled;
+        this.lockTimeout = Duration.ofMillis(lockTimeoutMs);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // dbState : 현재 DB 의 like_status (row 가 없으면 null), 버퍼에 값이 없을 때만 사용
+    //          generation 확인 뒤에 다시 읽으므로 매번 커밋된 최신 값을 읽어야 함 (호출한 트랜잭션의 snapshot 이면 재시도해도 같은 값)
+    // 재시도를 넘기면 null (예외를 던지면 호출한 트랜잭션이 rollback-only 가 됨)
+    public LikeToggleResult toggle(LikeTarget target, long targetId, long userId, Supplier<Integer> dbState) {
+        String field = field(target, targetId, userId);
+        for (int attempt = 0; attempt < MAX_TOGGLE_ATTEMPTS; attempt++) {
+            String generation = redisTemplate.opsForValue().get(GENERATION);
+            Integer stored = dbState.get();
+            String result = redisTemplate.execute(TOGGLE, Arrays.asList(PENDING, FLUSHING, GENERATION),
+                    field, stored != null && stored == 1 ? "1" : "0", generation == null ? "0" : generation);
+            if (result != null && !RETRY.equals(result)) {
+                int state = result.charAt(0) == '1' ? 1 : 0;
+                return new LikeToggleResult(state, state == 1 && result.charAt(1) == 'd' && stored == null);
+            }
+        }
+        return null; // 계속 flush 와 겹침 - 호출한 쪽에서 잠시 후 다시 시도하도록 응답
+    }
+
+    // 버퍼에 있는 최신 상태 (없으면 null -> DB 를 봐야 함)
+    public Integer bufferedState(LikeTarget target, long targetId, long userId) {
+        if (!enabled) {
+            return null;
+        }
+        String field = field(target, targetId, userId);
+        Object state = redisTemplate.opsForHash().get(PENDING, field);
+        if (state == null) {
+            state = redisTemplate.opsForHash().get(FLUSHING, field);
+        }
+        return state == null ? null : Integer.valueOf(state.toString());
+    }
+
+    // 목록용 : targetIds 중 버퍼에 상태가 있는 것만 (대상 id -> 상태), pending / flushing 을 HMGET 한 번씩
+    public Map<Long, Integer> bufferedStates(LikeTarget target, long userId, List<Long> targetIds) {
+        Map<Long, Integer> states = new HashMap<>();
+        if (!enabled || targetIds.isEmpty()) {
+            return states;
+        }
+        List<Object> fields = targetIds.stream().map(id -> field(target, id, userId)).collect(Collectors.toList());
+        List<Object> pending = redisTemplate.opsForHash().multiGet(PENDING, fields);
+        List<Object> flushing = redisTemplate.opsForHash().multiGet(FLUSHING, fields);
+        for (int i = 0; i < targetIds.size(); i++) {
+            Object state = pending.get(i) != null ? pending.get(i) : flushing.get(i);
+            if (state != null) {
+                states.put(targetIds.get(i), Integer.valueOf(state.toString()));
+            }
+        }
+        return states;
+    }
+
+    // 전체 목록용 : 사용자의 target 종류 토글 전체 (대상 id -> 상태), id 별 field 를 만들지 않고 HSCAN 으로 사용자 field 만 골라냄
+    // 버퍼는 flush 마다 비워지므로 scan 범위는 최근 토글 몇 개뿐
+    public Map<Long, Integer> allBufferedStates(LikeTarget target, long userId) {
+        Map<Long, Integer> states = new HashMap<>();
+        if (!enabled) {
+            return states;
+        }
+        ScanOptions options = ScanOptions.scanOptions().match(target.getCode() + ":*:" + userId).count(1000).build();
+        for (String key : Arrays.asList(FLUSHING, PENDING)) { // pending 이 최신이므로 나중에 덮어씀
+            try (Cursor<Map.Entry<Object, Object>> cursor = redisTemplate.opsForHash().scan(key, options)) {
+                while (cursor.hasNext()) {
+                    Map.Entry<Object, Object> e = cursor.next();
+                    states.put(Long.parseLong(e.getKey().toString().split(":")[1]), Integer.valueOf(e.getValue().toString()));
+                }
+            }
+        }
+        return states;
+    }
+
+    // 잡았으면 이 flush 의 token, 못 잡았으면 null
+    String tryLock() {
+        String token = UUID.randomUUID().toString();
+        return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(LOCK, token, lockTimeout)) ? token : null;
+    }
+
+    void unlock(String token) {
+        redisTemplate.execute(UNLOCK, Collections.singletonList(LOCK), token);
+    }
+
+    // 이전 flush 가 끝나지 않았으면 flushing 을 그대로 다시 반영, 아니면 pending 을 flushing 으로 옮김
+    List<Entry> beginFlush() {
+        List<?> buffered = redisTemplate.execute(BEGIN_FLUSH, Arrays.asList(PENDING, FLUSHING));
+        List<Entry> entries = new ArrayList<>();
+        if (buffered == null) {
+            return entries;
+        }
+        for (int i = 0; i + 1 < buffered.size(); i += 2) { // HGETALL : field, value 순서
+            String[] split = buffered.get(i).toString().split(":");
+            entries.add(new Entry(LikeTarget.fromCode(split[0]), Long.parseLong(split[1]), Long.parseLong(split[2]),
+                    Integer.parseInt(buffered.get(i + 1).toString())));
+        }
+        return entries;
+    }
+
+    // DB 커밋 이후 - generation 을 먼저 올려서 커밋 전에 DB 를 읽은 토글이 다시 읽도록
+    // false : lock 을 잃어서 flushing 을 지우지 않음
+    boolean finishFlush(String token) {
+        Long finished = redisTemplate.execute(FINISH_FLUSH, Arrays.asList(GENERATION, LOCK, FLUSHING), token);
+        return finished != null && finished == 1;
+    }
+
+    private String field(LikeTarget target, long targetId, long userId) {
+        return target.getCode() + ":" + targetId + ":" + userId;
+    }
+}
@@ -2,14 +2,24 @@ package com.example.demo.like.repository;
 
 import com.example.demo.lecture.Lecture;
 import com.example.demo.like.Like;
+import com.example.demo.like.LikeTarget;
+import com.example.demo.like.LikeToggleResult;
 import com.example.demo.roadmap.RoadMapGroup;
 import com.example.demo.study.domain.StudyPost;
 import com.example.demo.user.domain.User;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface CustomLikeRepository {
     int updateLikeStatus(Like like, int likeStatus);
+    // (대상, 사용자) 좋아요를 한 문장으로 토글 - 없으면 좋아요로 등록, 있으면 상태를 뒤집고 바뀐 상태 반환
+    // JDBC 로 바로 쓰므로 영속성 컨텍스트의 Like 엔티티는 갱신되지 않음 -> 토글 뒤 같은 트랜잭션에서 Like 를 읽지 말고 결과의 state 를 쓸 것
+    // (꼭 읽어야 하면 EntityManager.refresh 또는 clear 후 다시 조회)
+    LikeToggleResult toggleLikeStatus(LikeTarget target, Long targetId, Long userId);
+    // (대상, 사용자) 의 like_status, row 가 없으면 null - JDBC 로 바로 읽음 (영속성 컨텍스트에 있는 Like 를 거치지 않음)
+    Integer findLikeStatus(LikeTarget target, Long targetId, Long userId);
     List<Like> findLikeByLecture(Lecture lecture); // 강의글 좋아요 가져오기
     List<Like> findLikeByStudyPost(StudyPost post);
     List<Like> findLikeByRoadmap(RoadMapGroup roadMapGroup);
@@ -17,4 +27,12 @@ public interface CustomLikeRepository {
     List<StudyPost> findStudyLikeByUser(User user);
     List<RoadMapGroup> findRoadmapLikeByUser(User user);
     Like findLikeByRoadmapGroupAndUser(RoadMapGroup group, User user);
+    // targetIds 중 사용자가 좋아요 누른 대상 id (목록 한 페이지를 쿼리 한 번으로)
+    List<Long> findLikedTargetIds(LikeTarget target, Long userId, Collection<Long> targetIds);
+    // 사용자가 좋아요 누른 대상 id 전체 (IN 없이 user_id, like_status 로만 - 페이지 없는 전체 목록용)
+    List<Long> findAllLikedTargetIds(LikeTarget target, Long userId);
+    // id 별 실제 좋아요 개수 (카운터 보정용)
+    Map<Long, Long> countLikesGroupByLecture(Collection<Long> lectureIds);
+    Map<Long, Long> countLikesGroupByStudyPost(Collection<Long> studyPostIds);
+    Map<Long, Long> countLikesGroupByRoadmapGroup(Collection<Long> roadmapGroupIds);
 }
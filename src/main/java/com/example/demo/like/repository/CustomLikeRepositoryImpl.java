@@ -1,21 +1,38 @@
 package com.example.demo.like.repository;
 import com.example.demo.lecture.Lecture;
 import com.example.demo.like.Like;
+import com.example.demo.like.LikeTarget;
+import com.example.demo.like.LikeToggleResult;
 import com.example.demo.roadmap.RoadMapGroup;
 import com.example.demo.study.domain.StudyPost;
 import com.example.demo.user.domain.User;
+import com.querydsl.core.types.dsl.NumberPath;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
 
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import static com.example.demo.like.QLike.like;
 
 @Repository
 @RequiredArgsConstructor
 public class CustomLikeRepositoryImpl implements CustomLikeRepository{
+    // unique 제약(UniqueLectureAndUser 등)에 걸리면 insert 대신 like_status 를 뒤집음
+    // 뒤집은 상태는 LAST_INSERT_ID(3 - 이전 상태) 로 넘겨서 generated key 로 받음 (2: 취소, 3: 좋아요) -> 다시 select 하지 않음
+    private static final String TOGGLE_LIKE = "insert into likes (%s, user_id, like_status) values (?, ?, 1) "
+            + "on duplicate key update like_status = last_insert_id(3 - coalesce(like_status, 0)) - 2";
+
     private final JPAQueryFactory jpaQueryFactory;
+    private final JdbcTemplate jdbcTemplate;
 
     @Override
     public int updateLikeStatus(Like likes, int likeStatus){
@@ -27,6 +44,28 @@ public class CustomLikeRepositoryImpl implements CustomLikeRepository{
         return likeStatus;
     }
 
+    @Override
+    public LikeToggleResult toggleLikeStatus(LikeTarget target, Long targetId, Long userId) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        int affected = jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(String.format(TOGGLE_LIKE, target.getColumn()), Statement.RETURN_GENERATED_KEYS);
+            ps.setLong(1, targetId);
+            ps.setLong(2, userId);
+            return ps;
+        }, keyHolder);
+        if (affected == 1) // 새 row 로 insert 됨 -> 최초 좋아요
+            return new LikeToggleResult(1, true);
+        // 기존 row 를 바꾼 경우(affected 2) 드라이버가 key 를 여러 개 돌려줄 수 있어서 첫 번째 값만 사용
+        Number key = (Number) keyHolder.getKeyList().get(0).values().iterator().next();
+        return new LikeToggleResult(key.intValue() - 2, false);
+    }
+
+    @Override
+    public Integer findLikeStatus(LikeTarget target, Long targetId, Long userId) {
+        return jdbcTemplate.query("select like_status from likes where " + target.getColumn() + " = ? and user_id = ?",
+                rs -> rs.next() ? rs.getObject(1, Integer.class) : null, targetId, userId);
+    }
+
     @Override
     public List<Like> findLikeByLecture(Lecture lecture) {
         return jpaQueryFactory
@@ -90,4 +129,71 @@ public class CustomLikeRepositoryImpl implements CustomLikeRepository{
                 .where(like.roadmapGroup.eq(group),like.user.eq(user))
                 .fetchFirst();
     }
+
+    @Override
+    public List<Long> findLikedTargetIds(LikeTarget target, Long userId, Collection<Long> targetIds) {
+        NumberPath<Long> targetId = targetIdPath(target);
+        return jpaQueryFactory
+                .select(targetId)
+                .from(like)
+                .where(like.user.userId.eq(userId), targetId.in(targetIds), like.likeStatus.eq(1))
+                .fetch();
+    }
+
+    @Override
+    public List<Long> findAllLikedTargetIds(LikeTarget target, Long userId) {
+        NumberPath<Long> targetId = targetIdPath(target);
+        return jpaQueryFactory
+                .select(targetId)
+                .from(like)
+                .where(like.user.userId.eq(userId), targetId.isNotNull(), like.likeStatus.eq(1))
+                .fetch();
+    }
+
+    private NumberPath<Long> targetIdPath(LikeTarget target) {
+        switch (target) {
+            case LECTURE:
+                return like.lecture.lectureId;
+            case STUDY_POST:
+                return like.studyPost.studyPostId;
+            default:
+                return like.roadmapGroup.roadmapGroupId;
+        }
+    }
+
+    @Override
+    public Map<Long, Long> countLikesGroupByLecture(Collection<Long> lectureIds) {
+        return jpaQueryFactory
+                .select(like.lecture.lectureId, like.count())
+                .from(like)
+                .where(like.lecture.lectureId.in(lectureIds), like.likeStatus.eq(1))
+                .groupBy(like.lecture.lectureId)
+                .fetch()
+                .stream()
+                .collect(Collectors.toMap(t -> t.get(0, Long.class), t -> t.get(1, Long.class)));
+    }
+
+    @Override
+    public Map<Long, Long> countLikesGroupByStudyPost(Collection<Long> studyPostIds) {
+        return jpaQueryFactory
+                .select(like.studyPost.studyPostId, like.count())
+                .from(like)
+                .where(like.studyPost.studyPostId.in(studyPostIds), like.likeStatus.eq(1))
+                .groupBy(like.studyPost.studyPostId)
+                .fetch()
+                .stream()
+                .collect(Collectors.toMap(t -> t.get(0, Long.class), t -> t.get(1, Long.class)));
+    }
+
+    @Override
+    public Map<Long, Long> countLikesGroupByRoadmapGroup(Collection<Long> roadmapGroupIds) {
+        return jpaQueryFactory
+                .select(like.roadmapGroup.roadmapGroupId, like.count())
+                .from(like)
+                .where(like.roadmapGroup.roadmapGroupId.in(roadmapGroupIds), like.likeStatus.eq(1))
+                .groupBy(like.roadmapGroup.roadmapGroupId)
+                .fetch()
+                .stream()
+                .collect(Collectors.toMap(t -> t.get(0, Long.class), t -> t.get(1, Long.class)));
+    }
 }
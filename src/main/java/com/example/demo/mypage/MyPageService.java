@@ -1,5 +1,6 @@
 package com.example.demo.mypage;
 
+import com.example.demo.lecture.Lecture;
 import com.example.demo.lecture.LectureService;
 import com.example.demo.lecture.RequestedLecture;
 import com.example.demo.lecture.repository.RequestedLectureRepository;
@@ -14,6 +15,7 @@ import com.example.demo.roadmap.repository.RoadmapRepository;
 import com.example.demo.study.domain.StudyPost;
 import com.example.demo.study.repository.StudyPostRepository;
 import com.example.demo.user.domain.User;
+import com.example.demo.util.UrlCanonicalizer;
 import lombok.RequiredArgsConstructor;
 import org.apache.tomcat.util.http.fileupload.FileUploadException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -23,6 +25,7 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -121,8 +124,11 @@ public class MyPageService {
                 .map(LikedLecturesResponse::from)
                 .collect(Collectors.toList());
 
+        Map<Long, List<String>> hashtags = lectureService.hashtagsFor(likedLectures.stream()
+                .map(LikedLecturesResponse::getLectureId)
+                .collect(Collectors.toList()));
         likedLectures.forEach(lecture ->
-                lecture.setHashtags(lectureService.getHashtags(lecture.getLectureId()))
+                lecture.setHashtags(hashtags.get(lecture.getLectureId()))
         );
         return likedLectures;
     }
@@ -202,9 +208,13 @@ public class MyPageService {
 
     public List<RequestedLectureResponse> getMyRequestedLectures(User user){
         //url 로 강의 찾아서 lectureId 반환
+        //요청 url 들은 정규화 hash 로 한 번에 조회
         List<RequestedLecture> allByUser = requestedLectureRepository.findAllByUser(user);
+        Map<String, Lecture> lectures = lectureService.findByUrls(allByUser.stream()
+                .map(RequestedLecture::getLectureUrl)
+                .collect(Collectors.toList()));
         return allByUser.stream()
-                .map(r->RequestedLectureResponse.fromEntity(r,lectureService.findByUrl(r.getLectureUrl())))
+                .map(r->RequestedLectureResponse.fromEntity(r,lectures.get(UrlCanonicalizer.canonicalHash(r.getLectureUrl()))))
                 .collect(Collectors.toList());
     }
 }
@@ -19,7 +19,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name="reviews")
+@Table(name="reviews", indexes = { // 강의별 리뷰 목록 (InnoDB 보조 인덱스 끝에 review_id 가 붙으므로 최신순도 이 인덱스로 정렬)
+        @Index(name = "idx_review_lecture_status", columnList = "lecture_id, reviewStatus"),
+        @Index(name = "idx_review_lecture_status_rate", columnList = "lecture_id, reviewStatus, rate")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -6,6 +6,7 @@ import com.example.demo.lecture.LectureService;
 import com.example.demo.report.Report;
 import com.example.demo.report.ReportService;
 import com.example.demo.review.dto.ReviewDto;
+import com.example.demo.review.dto.ReviewPageResponse;
 import com.example.demo.review.dto.ReviewPostDto;
 import com.example.demo.user.UserDetailsServiceImpl;
 import com.example.demo.user.domain.User;
@@ -63,6 +64,34 @@ public class ReviewController {
         return new ResponseEntity<>(new ResponseMessage(201, "강의 리뷰가 등록되었습니다.", existedLecture), HttpStatus.CREATED);
     }
 
+    @ApiOperation(value="강의 리뷰 목록 (cursor 페이지네이션)")
+    @ApiResponses({
+            @ApiResponse(code = 200, message = "API 정상 작동 (다음 페이지는 응답의 nextCursor 를 cursor 로 전달)"),
+            @ApiResponse(code = 400, message = "잘못된 정렬 / cursor"),
+            @ApiResponse(code = 404, message = "존재하지 않는 유저 / 강의")
+    })
+    @GetMapping("") // 리뷰 목록 sort: newest(기본), rating_high, rating_low
+    public ResponseEntity<ResponseMessage> getReviews(@RequestParam("lectureId") Long lectureId,
+                                                      @RequestParam(value = "sort", required = false) String sort,
+                                                      @RequestParam(value = "cursor", required = false) String cursor,
+                                                      @RequestParam(value = "size", defaultValue = "10") int size,
+                                                      Principal principal) {
+        User user = userDetailsService.findUserByEmail(principal.getName());
+        if(user == null)
+            return new ResponseEntity<>(new ResponseMessage(404, "존재하지 않는 유저"), HttpStatus.NOT_FOUND);
+        Lecture lecture = lectureService.findById(lectureId);
+        if(lecture == null)
+            return new ResponseEntity<>(new ResponseMessage(404, "존재하지 않는 강의"), HttpStatus.NOT_FOUND);
+
+        ReviewPageResponse reviewPage;
+        try {
+            reviewPage = reviewService.getReviewPage(lecture, user, ReviewSort.from(sort), cursor, size);
+        } catch (IllegalArgumentException e) { // 정렬 이름, cursor 형식 오류
+            return new ResponseEntity<>(new ResponseMessage(400, "잘못된 정렬 또는 cursor 입니다."), HttpStatus.BAD_REQUEST);
+        }
+        return new ResponseEntity<>(ResponseMessage.withData(200, "리뷰 목록 조회 성공", reviewPage), HttpStatus.OK);
+    }
+
     @PatchMapping("/{reviewId}") // 리뷰 수정
     public ResponseEntity<ResponseMessage> updateReview(@PathVariable("reviewId") Long reviewId, @RequestBody ReviewPostDto reviewUpdateDto) {
         Review review = reviewService.findByReviewId(reviewId);
@@ -96,7 +125,7 @@ public class ReviewController {
             Report existedReport = reportService.findByUserAndReview(user, review);
             if(existedReport!=null) {
                 if (review.getReportCount() == 5) {// 5번 신고 된 경우 삭제
-                    review.updateReviewStatus();
+                    reviewService.hideReportedReview(review);
                     return new ResponseEntity<>(new ResponseMessage(200, "5번 누적되어 리뷰 삭제됨"), HttpStatus.OK);
                 }
                 int reportCnt = review.getReportCount();
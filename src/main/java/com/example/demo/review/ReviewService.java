@@ -1,12 +1,17 @@
 package com.example.demo.review;
 
 import com.example.demo.lecture.Lecture;
-import com.example.demo.lecture.LectureService;
+import com.example.demo.lecture.LectureActivityEvent;
+import com.example.demo.lecture.LectureChangedEvent;
+import com.example.demo.lecture.repository.LectureRepository;
+import com.example.demo.review.dto.ReviewCursor;
 import com.example.demo.review.dto.ReviewDto;
+import com.example.demo.review.dto.ReviewPageResponse;
 import com.example.demo.review.dto.ReviewPostDto;
 import com.example.demo.review.repository.ReviewRepository;
 import com.example.demo.user.domain.User;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,8 +22,12 @@ import java.util.Optional;
 @Service
 @RequiredArgsConstructor
 public class ReviewService {
+    public static final int MAX_PAGE_SIZE = 50;
+
     private final ReviewRepository reviewRepository;
+    private final LectureRepository lectureRepository;
     private final EntityManager em;
+    private final ApplicationEventPublisher eventPublisher;
 
     public void saveReview(ReviewDto reviewDto, User user, Lecture lecture){
         // 처음 리뷰 쓰는 경우 status 변경
@@ -27,20 +36,10 @@ public class ReviewService {
 
         Review review = reviewDto.toEntity(user, lecture);
         reviewRepository.save(review);
-        this.updateAvgRate(lecture);
-    }
-
-    // 평점 계산 (리뷰를 등록, 수정,삭제할 때마다 계산을 다시해서 SETTING 해야 함)
-    public void updateAvgRate(Lecture lecture){
-        List<Review> reviews = reviewRepository.findByLecture(lecture);
-        System.out.println("reviews.size() = " + reviews.size());
-        double rateSum = reviews.stream().mapToDouble(i -> i.getRate()).sum();
-        System.out.println("rateSum = " + rateSum);
-        double avgRate = Math.round((rateSum/reviews.size()*10))/10.0;
-        System.out.println("avgRate = " + avgRate);
-        
-        lecture.updateAvgRate(avgRate);
-        System.out.println("lecture.getAvgRate() = " + lecture.getAvgRate());
+        lectureRepository.addReviewCount(lecture.getLectureId(), 1);
+        lectureRepository.applyRatingDelta(lecture.getLectureId(), null, review.getRate()); // 평점은 차이만큼만 반영 (avgRate 도 같이)
+        eventPublisher.publishEvent(new LectureChangedEvent(lecture.getLectureId()));
+        eventPublisher.publishEvent(LectureActivityEvent.of(lecture.getLectureId(), LectureActivityEvent.Activity.REVIEW)); // 인기 강의 점수
     }
 
     public Review findByReviewId(Long reviewId){
@@ -57,27 +56,48 @@ public class ReviewService {
                 .orElse(null);
     }
 
+    // 강의 삭제 시 리뷰 전체 삭제 - 강의도 같이 삭제되므로 평점/리뷰 개수는 다시 계산하지 않음
     public void deleteReviews(Lecture lecture){
         reviewRepository.deleteReviews(lecture);
-        this.updateAvgRate(lecture);
+        eventPublisher.publishEvent(new LectureChangedEvent(lecture.getLectureId()));
     }
 
     public void updateReview(ReviewPostDto reviewUpdateDto, Long reviewId){
         Review review = this.findByReviewId(reviewId);
+        int oldRate = review.getRate();
         reviewRepository.updateReview(reviewUpdateDto, review.getReviewId());
         review.setRate(reviewUpdateDto.getRate());
-        this.updateAvgRate(review.getLecture());
+        if(oldRate != reviewUpdateDto.getRate())
+            lectureRepository.applyRatingDelta(review.getLecture().getLectureId(), oldRate, reviewUpdateDto.getRate());
+        eventPublisher.publishEvent(new LectureChangedEvent(review.getLecture().getLectureId()));
     }
 
     public void deleteReview(Long reviewId, User user){
+        Review review = this.findByReviewId(reviewId); // 삭제 처리 후에는 조회되지 않으므로 먼저 가져오기
         reviewRepository.deleteReview(reviewId);
+        lectureRepository.addReviewCount(review.getLecture().getLectureId(), -1);
 
         // 이걸 삭제했을 때 리뷰가 하나도 없다면 reviewWriteStatus 바꾸기
         if(reviewRepository.findByUser(user).isEmpty())
             user.updateReviewWriteStatus();
 
-        Review review = this.findByReviewId(reviewId);
-        this.updateAvgRate(review.getLecture());
+        lectureRepository.applyRatingDelta(review.getLecture().getLectureId(), review.getRate(), null);
+        eventPublisher.publishEvent(new LectureChangedEvent(review.getLecture().getLectureId()));
+    }
+
+    // 강의 리뷰 목록 (cursor 페이지네이션), size 는 1 ~ MAX_PAGE_SIZE
+    public ReviewPageResponse getReviewPage(Lecture lecture, User user, ReviewSort sort, String cursor, int size){
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<Review> reviews = reviewRepository.findPageByLecture(lecture.getLectureId(), sort, ReviewCursor.parse(cursor), pageSize + 1);
+        return ReviewPageResponse.of(reviews, pageSize, lecture.getReviewCount(), user.getUserId());
+    }
+
+    // 신고 누적으로 숨긴 리뷰 - 삭제와 같이 리뷰 개수, 평점에서 제외
+    public void hideReportedReview(Review review){
+        review.updateReviewStatus();
+        lectureRepository.addReviewCount(review.getLecture().getLectureId(), -1);
+        lectureRepository.applyRatingDelta(review.getLecture().getLectureId(), review.getRate(), null);
+        eventPublisher.publishEvent(new LectureChangedEvent(review.getLecture().getLectureId()));
     }
 
     public List<Review> findAllReviewsByUser(User user){
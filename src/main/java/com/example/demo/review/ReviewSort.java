@@ -0,0 +1,17 @@
+package com.example.demo.review;
+
+import java.util.Locale;
+
+// 리뷰 목록 정렬 (같은 값이면 최신 리뷰 먼저)
+public enum ReviewSort {
+    NEWEST,      // 최신순
+    RATING_HIGH, // 별점 높은순
+    RATING_LOW;  // 별점 낮은순
+
+    // 요청 파라미터 (대소문자 무시, 없으면 최신순)
+    public static ReviewSort from(String sort) {
+        if (sort == null || sort.isBlank())
+            return NEWEST;
+        return ReviewSort.valueOf(sort.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -10,7 +10,7 @@ import java.time.LocalDateTime;
 
 @Getter
 @Setter
-@Builder
+@Builder(toBuilder = true)
 public class DetailReviewResponse {
     private String nickname;
     private long reviewId;
@@ -31,4 +31,9 @@ public class DetailReviewResponse {
                 .writerStatus(false)
                 .build();
     }
+
+    // 캐시된 리뷰는 그대로 두고 요청한 사용자 기준 writerStatus 를 채운 복사본
+    public DetailReviewResponse withWriterStatus(boolean writerStatus){
+        return this.toBuilder().writerStatus(writerStatus).build();
+    }
 }
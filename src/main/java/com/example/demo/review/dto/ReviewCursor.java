@@ -0,0 +1,34 @@
+package com.example.demo.review.dto;
+
+import com.example.demo.review.Review;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 리뷰 목록 다음 페이지 위치 (마지막으로 받은 리뷰의 별점, id)
+ * 문자열 형식: "{rate}_{reviewId}" - 최신순에서는 rate 를 쓰지 않음
+ */
+@Getter
+@AllArgsConstructor
+public class ReviewCursor {
+    private final int rate;
+    private final long reviewId;
+
+    public static ReviewCursor from(Review review) {
+        return new ReviewCursor(review.getRate(), review.getReviewId());
+    }
+
+    // 비어있으면 null (첫 페이지), 형식이 틀리면 IllegalArgumentException
+    public static ReviewCursor parse(String cursor) {
+        if (cursor == null || cursor.isBlank())
+            return null;
+        String[] split = cursor.split("_");
+        if (split.length != 2)
+            throw new IllegalArgumentException("잘못된 cursor 형식: " + cursor);
+        return new ReviewCursor(Integer.parseInt(split[0]), Long.parseLong(split[1]));
+    }
+
+    public String encode() {
+        return rate + "_" + reviewId;
+    }
+}
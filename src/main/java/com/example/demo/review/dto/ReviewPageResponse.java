@@ -0,0 +1,30 @@
+package com.example.demo.review.dto;
+
+import com.example.demo.review.Review;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Getter
+@AllArgsConstructor
+public class ReviewPageResponse {
+    private List<DetailReviewResponse> reviews;
+    private String nextCursor; // 다음 페이지 요청 시 cursor 로 전달 (마지막 페이지면 null)
+    private boolean hasNext;
+    private long totalCount; // 강의의 전체 리뷰 개수
+
+    // fetched: size + 1 개까지 조회한 결과 (size 보다 많으면 다음 페이지가 있음)
+    // userId: 이 사용자가 쓴 리뷰는 writerStatus = true
+    public static ReviewPageResponse of(List<Review> fetched, int size, long totalCount, long userId) {
+        boolean hasNext = fetched.size() > size;
+        List<Review> page = hasNext ? fetched.subList(0, size) : fetched;
+        List<DetailReviewResponse> reviews = page.stream()
+                .map(review -> DetailReviewResponse.from(review, review.getLecture())
+                        .withWriterStatus(review.getUser().getUserId() == userId))
+                .collect(Collectors.toList());
+        String nextCursor = hasNext ? ReviewCursor.from(page.get(page.size() - 1)).encode() : null;
+        return new ReviewPageResponse(reviews, nextCursor, hasNext, totalCount);
+    }
+}
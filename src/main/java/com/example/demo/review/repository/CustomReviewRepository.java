@@ -2,10 +2,14 @@ package com.example.demo.review.repository;
 
 import com.example.demo.lecture.Lecture;
 import com.example.demo.review.Review;
+import com.example.demo.review.ReviewSort;
+import com.example.demo.review.dto.ReviewCursor;
 import com.example.demo.review.dto.ReviewPostDto;
 import com.example.demo.user.domain.User;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface CustomReviewRepository {
@@ -15,4 +19,6 @@ public interface CustomReviewRepository {
     List<Review> findByLecture(Lecture lecture);
     void deleteReviews(Lecture lecture);
     Optional<Review> findByUserAndLecture(User user, Lecture lecture);
+    Map<Long, Long> countReviewsGroupByLecture(Collection<Long> lectureIds); // 강의 id 별 실제 리뷰 개수 (카운터 보정용)
+    List<Review> findPageByLecture(long lectureId, ReviewSort sort, ReviewCursor cursor, int limit); // cursor 다음부터 limit 개
 }
@@ -1,16 +1,25 @@
 package com.example.demo.review.repository;
 import com.example.demo.lecture.Lecture;
 import com.example.demo.review.Review;
+import com.example.demo.review.ReviewSort;
+import com.example.demo.review.dto.ReviewCursor;
 import com.example.demo.review.dto.ReviewPostDto;
 import com.example.demo.user.domain.User;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
 import javax.transaction.Transactional;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
+
 import static com.example.demo.review.QReview.review;
+import static com.example.demo.user.domain.QUser.user;
 
 @Repository
 @RequiredArgsConstructor
@@ -74,4 +83,55 @@ public class CustomReviewRepositoryImpl implements CustomReviewRepository{
                 .where(review.user.eq(user))
                 .stream().findFirst();
     }
+
+    @Override
+    public Map<Long, Long> countReviewsGroupByLecture(Collection<Long> lectureIds) {
+        return jpaQueryFactory
+                .select(review.lecture.lectureId, review.count())
+                .from(review)
+                .where(review.lecture.lectureId.in(lectureIds), review.reviewStatus.eq(1))
+                .groupBy(review.lecture.lectureId)
+                .fetch()
+                .stream()
+                .collect(Collectors.toMap(t -> t.get(0, Long.class), t -> t.get(1, Long.class)));
+    }
+
+    // 정렬 기준 뒤에 reviewId desc 를 붙여서 순서를 고정하고, cursor 보다 뒤에 있는 리뷰만 (offset 없이 keyset)
+    @Override
+    public List<Review> findPageByLecture(long lectureId, ReviewSort sort, ReviewCursor cursor, int limit) {
+        return jpaQueryFactory
+                .selectFrom(review)
+                .join(review.user, user).fetchJoin()
+                .where(review.lecture.lectureId.eq(lectureId),
+                        review.reviewStatus.eq(1),
+                        afterCursor(sort, cursor))
+                .orderBy(orderBy(sort))
+                .limit(limit)
+                .fetch();
+    }
+
+    private BooleanExpression afterCursor(ReviewSort sort, ReviewCursor cursor) {
+        if (cursor == null)
+            return null;
+        BooleanExpression sameRateOlder = review.rate.eq(cursor.getRate()).and(review.reviewId.lt(cursor.getReviewId()));
+        switch (sort) {
+            case RATING_HIGH:
+                return review.rate.lt(cursor.getRate()).or(sameRateOlder);
+            case RATING_LOW:
+                return review.rate.gt(cursor.getRate()).or(sameRateOlder);
+            default:
+                return review.reviewId.lt(cursor.getReviewId());
+        }
+    }
+
+    private OrderSpecifier<?>[] orderBy(ReviewSort sort) {
+        switch (sort) {
+            case RATING_HIGH:
+                return new OrderSpecifier<?>[]{review.rate.desc(), review.reviewId.desc()};
+            case RATING_LOW:
+                return new OrderSpecifier<?>[]{review.rate.asc(), review.reviewId.desc()};
+            default:
+                return new OrderSpecifier<?>[]{review.reviewId.desc()};
+        }
+    }
 }
@@ -1,6 +1,7 @@
 package com.example.demo.roadmap;
 
 import com.example.demo.lecture.Lecture;
+import com.example.demo.util.IdSequenceInitializer;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import lombok.Builder;
 import lombok.Data;
@@ -15,7 +16,11 @@ import javax.persistence.*;
 public class RoadMap {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // 로드맵 등록/수정 시 여러 row 를 한 번에 insert -> batch 가 되도록 pooled id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "roadmap_id")
+    @TableGenerator(name = "roadmap_id", table = IdSequenceInitializer.TABLE,
+            pkColumnName = IdSequenceInitializer.PK_COLUMN, valueColumnName = IdSequenceInitializer.VALUE_COLUMN,
+            pkColumnValue = "roadmaps", allocationSize = IdSequenceInitializer.ALLOCATION_SIZE)
     private Long roadmapId;
 
     @Column(nullable = false)
@@ -1,12 +1,14 @@
 package com.example.demo.roadmap;
 
 import com.example.demo.like.Like;
+import com.example.demo.search.SearchIndexListener;
 import com.example.demo.user.domain.User;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 import org.springframework.data.annotation.CreatedDate;
 
 import javax.persistence.*;
@@ -16,8 +18,11 @@ import java.util.List;
 
 @Entity
 @Data
-@Table(name = "roadmapGroups")
+@Table(name = "roadmapGroups", indexes = // 좋아요순 seek 페이징
+        @Index(name = "idx_roadmap_group_status_like", columnList = "roadmapGroupStatus, roadmapGroupLikeCount"))
 @NoArgsConstructor
+@EntityListeners(SearchIndexListener.class) // 저장/수정/삭제 시 검색 인덱스 반영
+@DynamicUpdate // 좋아요 카운터를 덮어쓰지 않도록 변경된 컬럼만 update
 public class RoadMapGroup {
 
     @Id
@@ -33,6 +38,9 @@ public class RoadMapGroup {
     @Column
     private Integer roadmapGroupStatus=1;  //0이면 삭제된 것
 
+    @Column(columnDefinition = "integer default 0")
+    private Integer roadmapGroupLikeCount=0; // 좋아요 개수 (좋아요 변경 시 같이 증감)
+
     @Column
     @CreatedDate
     private LocalDateTime roadmapGroupCreatedDate=LocalDateTime.now();
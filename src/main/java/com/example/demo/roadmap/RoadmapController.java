@@ -1,10 +1,11 @@
 package com.example.demo.roadmap;
 
+import com.example.demo.dto.CursorPage;
 import com.example.demo.dto.ResponseMessage;
 import com.example.demo.lecture.Lecture;
 import com.example.demo.lecture.LectureService;
-import com.example.demo.like.Like;
 import com.example.demo.like.LikeService;
+import com.example.demo.like.LikeTarget;
 import com.example.demo.review.Review;
 import com.example.demo.review.ReviewService;
 import com.example.demo.roadmap.dto.*;
@@ -12,6 +13,7 @@ import com.example.demo.roadmap.service.RoadmapGroupService;
 import com.example.demo.roadmap.service.RoadmapService;
 import com.example.demo.user.domain.User;
 import com.example.demo.user.UserDetailsServiceImpl;
+import com.example.demo.util.SeekCursor;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.BeanUtils;
 import org.springframework.data.domain.Pageable;
@@ -24,6 +26,7 @@ import org.springframework.web.bind.annotation.*;
 import java.security.Principal;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @AllArgsConstructor
@@ -37,39 +40,67 @@ public class RoadmapController {
 
     @GetMapping("/roadmaps/paging")
     public ResponseEntity<ResponseMessage> getAllRoadmaps(@RequestParam(required = false) String keyword,
-                                                          @PageableDefault(size = 3,sort = "roadmapGroupId", direction = Sort.Direction.DESC) Pageable pageable){
+                                                          @PageableDefault(size = 3,sort = "roadmapGroupId", direction = Sort.Direction.DESC) Pageable pageable, Principal principal){
         List<RoadMapGroup> allRoadmaps=roadmapGroupService.getAllRoadmapGroups();
         if(allRoadmaps.isEmpty()){
             return new ResponseEntity<>(new ResponseMessage(200,"등록된 로드맵이 없습니다."),HttpStatus.OK);
         }
         if(keyword==null){
-            return new ResponseEntity<>(ResponseMessage.withData(200,"전체 로드맵 조회 성공",roadmapGroupService.getAllResponseByPageable(pageable)), HttpStatus.OK);
+            List<AllRoadmapsResponse> roadmaps=roadmapGroupService.getAllResponseByPageable(pageable);
+            markLikedByMe(roadmaps,principal);
+            return new ResponseEntity<>(ResponseMessage.withData(200,"전체 로드맵 조회 성공",roadmaps), HttpStatus.OK);
         }
 
         List<AllRoadmapsResponse> filteredRoadmaps=roadmapGroupService.getAllRoadmapGroupsWithFilter(keyword,pageable);
+        markLikedByMe(filteredRoadmaps,principal);
         if(filteredRoadmaps.isEmpty()){
             return new ResponseEntity<>(new ResponseMessage(200,"조건에 맞는 로드맵이 없습니다."),HttpStatus.OK);
         }
         return new ResponseEntity<>(ResponseMessage.withData(200,"조건에 맞는 로드맵 조회 성공",filteredRoadmaps),HttpStatus.OK);
     }
 
+    @GetMapping("/roadmaps/cursor")
+    public ResponseEntity<ResponseMessage> getRoadmapsByCursor(@RequestParam(required = false) String keyword, @RequestParam(required = false) String sort,
+                                                               @RequestParam(required = false) String cursor, @RequestParam(defaultValue = "3") int size, Principal principal){
+        //무한 스크롤용: sort = likes (좋아요순), 그 외 최신순 / 응답의 nextCursor 를 다음 요청의 cursor 로 전달
+        String seekSort=roadmapGroupService.getSeekSort(sort);
+        SeekCursor after;
+        try{
+            after=SeekCursor.decode(cursor,seekSort);
+        }catch (IllegalArgumentException e){ // cursor 형식 오류
+            return new ResponseEntity<>(new ResponseMessage(400,"잘못된 cursor 입니다."),HttpStatus.BAD_REQUEST);
+        }
+        CursorPage<AllRoadmapsResponse> roadmapPage=roadmapGroupService.getRoadmapPage(keyword,seekSort,after,size);
+        markLikedByMe(roadmapPage.getItems(),principal);
+        return new ResponseEntity<>(ResponseMessage.withData(200,"로드맵 조회 성공",roadmapPage),HttpStatus.OK);
+    }
+
     @GetMapping("/roadmaps")
-    public ResponseEntity<ResponseMessage> getAllRoadmapsNoPage(@RequestParam(required = false) String keyword){
+    public ResponseEntity<ResponseMessage> getAllRoadmapsNoPage(@RequestParam(required = false) String keyword, Principal principal){
         List<RoadMapGroup> allRoadmaps=roadmapGroupService.getAllRoadmapGroups();
         if(allRoadmaps.isEmpty()){
             return new ResponseEntity<>(new ResponseMessage(200,"등록된 로드맵이 없습니다."),HttpStatus.OK);
         }
         if(keyword==null){
-            return new ResponseEntity<>(ResponseMessage.withData(200,"전체 로드맵 조회 성공",roadmapGroupService.getAllResponseWithoutPage()), HttpStatus.OK);
+            List<AllRoadmapsResponse> roadmaps=roadmapGroupService.getAllResponseWithoutPage();
+            markLikedByMe(roadmaps,principal);
+            return new ResponseEntity<>(ResponseMessage.withData(200,"전체 로드맵 조회 성공",roadmaps), HttpStatus.OK);
         }
 
         List<AllRoadmapsResponse> filteredRoadmaps=roadmapGroupService.getAllResponseWithFilterWithoutPage(keyword);
+        markLikedByMe(filteredRoadmaps,principal);
         if(filteredRoadmaps.isEmpty()){
             return new ResponseEntity<>(new ResponseMessage(200,"조건에 맞는 로드맵이 없습니다."),HttpStatus.OK);
         }
         return new ResponseEntity<>(ResponseMessage.withData(200,"조건에 맞는 로드맵 조회 성공",filteredRoadmaps),HttpStatus.OK);
     }
 
+    // 목록의 likedByMe 채우기 (로그인 안 한 경우 전부 false)
+    private void markLikedByMe(List<AllRoadmapsResponse> roadmaps, Principal principal){
+        User user=principal==null?null:userDetailsService.findUserByEmail(principal.getName());
+        likeService.markLikedByMe(LikeTarget.ROADMAP_GROUP,user,roadmaps,AllRoadmapsResponse::getRoadmapId,AllRoadmapsResponse::setLikedByMe);
+    }
+
     @GetMapping("/roadmaps/lectures/{userId}")
     public ResponseEntity<ResponseMessage> getAllLecturesForRoadmap(@PathVariable Long userId){
         User user=userDetailsService.findUserById(userId);
@@ -82,11 +113,15 @@ public class RoadmapController {
             return new ResponseEntity<>(ResponseMessage.withData(200,"리뷰를 남긴 강의가 존재하지 않습니다.",reviews),HttpStatus.OK);
         }
         List<RoadmapUploadLectureDto> userLectureList=new ArrayList<>();
+        List<Long> lectureIds=new ArrayList<>();
+        for(Review review:reviews)
+            lectureIds.add(review.getLecture().getLectureId());
+        Map<Long,List<String>> hashtags=lectureService.hashtagsFor(lectureIds); //해시태그는 한 번에 조회
         for(Review review:reviews){
             Lecture lecture=review.getLecture();
             RoadmapUploadLectureDto roadmapUploadLectureDto =new RoadmapUploadLectureDto();
             BeanUtils.copyProperties(lecture, roadmapUploadLectureDto);
-            roadmapUploadLectureDto.setHashTags(lectureService.getHashtags(lecture.getLectureId()));
+            roadmapUploadLectureDto.setHashTags(hashtags.get(lecture.getLectureId()));
             userLectureList.add(roadmapUploadLectureDto);
         }
         return new ResponseEntity<>(ResponseMessage.withData(200,"사용자가 등록한 강의 목록입니다.",userLectureList),HttpStatus.OK);
@@ -106,13 +141,14 @@ public class RoadmapController {
         RoadMapGroup roadMapGroup=new RoadMapGroup(title,recommendation,user);
         RoadMapGroup savedGroup=roadmapGroupService.saveRoadmapGroup(roadMapGroup);
 
+        List<RoadMap> roadMaps=new ArrayList<>();
         for(int i=0;i<lectures.size();i++){
             Long id=lectures.get(i);
             Lecture lecture=lectureService.findById(id);
 
-            RoadMap roadMap=new RoadMap(lecture,i+1,savedGroup);
-            roadmapService.saveRoadmap(roadMap);
+            roadMaps.add(new RoadMap(lecture,i+1,savedGroup));
         }
+        roadmapService.saveRoadmaps(roadMaps);
         return new ResponseEntity<>(new ResponseMessage(201,"새로운 로드맵 등록 성공"),HttpStatus.OK);
     }
 
@@ -143,14 +179,12 @@ public class RoadmapController {
         }
 
         User user=userDetailsService.findUserByEmail(principal.getName());
-        Like foundLike = likeService.findLikeByRoadmapAndUser(user,group);
-        if(foundLike==null){
-            Like like=new Like(group,user);
-            likeService.saveLike(like);
+        String likeStatus = likeService.changeLikeStatus(group, user); // 좋아요 개수 카운터도 같이 반영
+        if(likeStatus.equals("like busy")){ // write-behind 버퍼 flush 와 계속 겹친 경우
+            return new ResponseEntity<>(new ResponseMessage(503,"좋아요 처리 중입니다. 잠시 후 다시 시도해주세요"),HttpStatus.SERVICE_UNAVAILABLE);
+        }else if(likeStatus.equals("like success")){
             return new ResponseEntity<>(new ResponseMessage(201,"좋아요가 등록되었습니다."),HttpStatus.CREATED);
         }else{
-            foundLike.changeLikeStatus(foundLike.getLikeStatus()==0?1:0);
-            likeService.saveLike(foundLike);
             return new ResponseEntity<>(new ResponseMessage(200,"좋아요 상태 변경 성공"),HttpStatus.OK);
         }
     }
@@ -17,6 +17,7 @@ public class AllRoadmapsResponse {
     private String roadmapWriterCompany; //뱃지 표시용
     private List<String> lectureThumbnails;
     private Integer roadmapLikeCount;
+    private boolean likedByMe; // 로그인한 사용자가 좋아요 눌렀는지 (목록 조회 후 한 번에 채움)
 
 
     @Builder
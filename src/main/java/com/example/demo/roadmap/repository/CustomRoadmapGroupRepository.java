@@ -2,12 +2,19 @@ package com.example.demo.roadmap.repository;
 
 import com.example.demo.roadmap.RoadMapGroup;
 import com.example.demo.user.domain.User;
+import com.example.demo.util.SeekCursor;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Map;
 
 @Repository
 public interface CustomRoadmapGroupRepository {
     List<RoadMapGroup> findAllRoadmapsWithFilter(String[] keywords);
+    // sort : newest (최신순), likes (좋아요순) - cursor 가 null 이면 첫 페이지
+    List<RoadMapGroup> findPageAfter(String[] keywords, String sort, SeekCursor cursor, int limit);
     List<RoadMapGroup> findAllRoadmapsByUser(User user);
+    void addLikeCount(Long roadmapGroupId, int delta);
+    Map<Long, Integer> findLikeCountsAfter(Long lastRoadmapGroupId, int size);
+    long fixLikeCount(Long roadmapGroupId, int expected, int actual);
 }
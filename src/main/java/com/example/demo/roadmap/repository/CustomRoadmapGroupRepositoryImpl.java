@@ -2,12 +2,18 @@ package com.example.demo.roadmap.repository;
 
 import com.example.demo.roadmap.RoadMapGroup;
 import com.example.demo.user.domain.User;
+import com.example.demo.util.SeekCursor;
 import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.OrderSpecifier;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import static com.example.demo.roadmap.QRoadMapGroup.roadMapGroup;
 
@@ -25,6 +31,33 @@ public class CustomRoadmapGroupRepositoryImpl implements CustomRoadmapGroupRepos
 
     }
 
+    // seek 페이징 : cursor 위치 뒤부터 limit 개 (offset/COUNT 없음), keywords 가 null 이면 전체
+    @Override
+    public List<RoadMapGroup> findPageAfter(String[] keywords, String sort, SeekCursor cursor, int limit) {
+        BooleanBuilder where = keywords != null ? predicate(keywords) : new BooleanBuilder(roadMapGroup.roadmapGroupStatus.eq(1));
+        OrderSpecifier<?>[] orderSpecifiers;
+        if ("likes".equals(sort)) { // 좋아요 많은 순, 같으면 최신순
+            orderSpecifiers = new OrderSpecifier<?>[]{roadMapGroup.roadmapGroupLikeCount.desc(), roadMapGroup.roadmapGroupId.desc()};
+            if (cursor != null) {
+                where.and(roadMapGroup.roadmapGroupLikeCount.lt(cursor.intKey())
+                        .or(roadMapGroup.roadmapGroupLikeCount.eq(cursor.intKey()).and(roadMapGroup.roadmapGroupId.lt(cursor.getId()))));
+            }
+        } else { // 최신순
+            orderSpecifiers = new OrderSpecifier<?>[]{roadMapGroup.roadmapGroupId.desc()};
+            if (cursor != null) {
+                where.and(roadMapGroup.roadmapGroupId.lt(cursor.getId()));
+            }
+        }
+
+        return jpaQueryFactory
+                .selectFrom(roadMapGroup)
+                .join(roadMapGroup.user).fetchJoin()
+                .where(where)
+                .orderBy(orderSpecifiers)
+                .limit(limit)
+                .fetch();
+    }
+
     private BooleanBuilder predicate(String[] keywords){
         BooleanBuilder builder=new BooleanBuilder();
         for(String keyword:keywords){
@@ -42,4 +75,36 @@ public class CustomRoadmapGroupRepositoryImpl implements CustomRoadmapGroupRepos
                         roadMapGroup.roadmapGroupStatus.eq(1))
                 .fetch();
     }
+
+    @Override
+    public void addLikeCount(Long roadmapGroupId, int delta) {
+        jpaQueryFactory
+                .update(roadMapGroup)
+                .set(roadMapGroup.roadmapGroupLikeCount, roadMapGroup.roadmapGroupLikeCount.add(delta))
+                .where(roadMapGroup.roadmapGroupId.eq(roadmapGroupId))
+                .execute();
+    }
+
+    @Override
+    public Map<Long, Integer> findLikeCountsAfter(Long lastRoadmapGroupId, int size) {
+        return jpaQueryFactory
+                .select(roadMapGroup.roadmapGroupId, roadMapGroup.roadmapGroupLikeCount)
+                .from(roadMapGroup)
+                .where(roadMapGroup.roadmapGroupId.gt(lastRoadmapGroupId))
+                .orderBy(roadMapGroup.roadmapGroupId.asc())
+                .limit(size)
+                .fetch()
+                .stream()
+                .collect(Collectors.toMap(t -> t.get(0, Long.class), t -> t.get(1, Integer.class), (a, b) -> a, LinkedHashMap::new));
+    }
+
+    @Override
+    @Transactional
+    public long fixLikeCount(Long roadmapGroupId, int expected, int actual) {
+        return jpaQueryFactory
+                .update(roadMapGroup)
+                .set(roadMapGroup.roadmapGroupLikeCount, actual)
+                .where(roadMapGroup.roadmapGroupId.eq(roadmapGroupId), roadMapGroup.roadmapGroupLikeCount.eq(expected))
+                .execute();
+    }
 }
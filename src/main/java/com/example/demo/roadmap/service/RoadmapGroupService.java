@@ -1,5 +1,6 @@
 package com.example.demo.roadmap.service;
 
+import com.example.demo.dto.CursorPage;
 import com.example.demo.like.Like;
 import com.example.demo.like.LikeService;
 import com.example.demo.review.Review;
@@ -11,6 +12,7 @@ import com.example.demo.roadmap.repository.RoadmapGroupRepository;
 import com.example.demo.roadmap.repository.RoadmapSpecification;
 import com.example.demo.user.domain.User;
 import com.example.demo.user.UserDetailsServiceImpl;
+import com.example.demo.util.SeekCursor;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -19,11 +21,14 @@ import org.springframework.stereotype.Service;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 @AllArgsConstructor
 public class RoadmapGroupService {
+    private static final int MAX_PAGE_SIZE = 50; // seek 페이징 한 번에 가져오는 최대 로드맵 수
     private final RoadmapGroupRepository roadmapGroupRepository;
     private final UserDetailsServiceImpl userDetailsService;
     private final LikeService likeService;
@@ -56,11 +61,7 @@ public class RoadmapGroupService {
     public List<AllRoadmapsResponse> getAllRoadmapGroupsWithFilter(String keyword,Pageable pageable){
         String[] keywords=keyword.split(" ");
         Page<RoadMapGroup> roadMapGroups = roadmapGroupRepository.findAll(RoadmapSpecification.getRoadmapByFilter(keywords), pageable);
-        List<AllRoadmapsResponse> responseGroups=new ArrayList<>();
-        for(RoadMapGroup group:roadMapGroups){
-            responseGroups.add(getAllRoadmapsResponse(group));
-        }
-        return responseGroups;
+        return getAllRoadmapsResponses(roadMapGroups.getContent());
     }
 
     public DetailRoadmapResponse getDetailRoadmapResponse(User user, RoadMapGroup group,User roadmapWriter){
@@ -69,7 +70,7 @@ public class RoadmapGroupService {
         detailRoadmapResponse.setRoadmapTitle(group.getRoadmapGroupTitle());
         detailRoadmapResponse.setRoadmapGroupId(group.getRoadmapGroupId());
         detailRoadmapResponse.setRoadmapRecommendation(group.getRoadmapGroupRecommendation());
-        detailRoadmapResponse.setIsLikedByUser(checkRoadmapLikedByUser(user,group)!=null);
+        detailRoadmapResponse.setIsLikedByUser(likeService.isRoadmapLiked(group,user)); // 버퍼에 있는 토글 포함
         detailRoadmapResponse.setIsThisUserRoadmapWriter(roadmapWriter.getUserId()==user.getUserId());
         detailRoadmapResponse.setRoadmapWriter(userDetailsService.getSimpleUserDto(roadmapWriter));
         detailRoadmapResponse.setLikeCount(likeService.getLikeCountOnRoadmap(group));
@@ -105,43 +106,59 @@ public class RoadmapGroupService {
     }
 
     public AllRoadmapsResponse getAllRoadmapsResponse(RoadMapGroup group){
+        return getAllRoadmapsResponse(group, likeService.getLikeCountOnRoadmap(group));
+    }
+
+    // 목록용 : 좋아요 개수는 로드맵마다 조회하지 않고 한 번에
+    private List<AllRoadmapsResponse> getAllRoadmapsResponses(List<RoadMapGroup> groups){
+        Map<Long,Integer> likeCounts=likeService.getLikeCountsOnRoadmaps(groups);
+        return groups.stream()
+                .map(group->getAllRoadmapsResponse(group,likeCounts.get(group.getRoadmapGroupId())))
+                .collect(Collectors.toList());
+    }
+
+    private AllRoadmapsResponse getAllRoadmapsResponse(RoadMapGroup group, Integer likeCountOnRoadmap){
         User writer=group.getUser();
         List<RoadMap> roadMaps=roadmapService.getAllRoadMapsByGroup(group);
         List<String> thumbnails=new ArrayList<>();
         for(RoadMap roadMap:roadMaps){
             thumbnails.add(roadMap.getLecture().getThumbnailUrl());
         }
-        Integer likeCountOnRoadmap = likeService.getLikeCountOnRoadmap(group);
         return new AllRoadmapsResponse(group.getRoadmapGroupId(), group.getRoadmapGroupTitle(),writer.getUserNickname(),writer.getUserCompany(),group.getRoadmapGroupCreatedDate(),thumbnails,likeCountOnRoadmap);
 
     }
 
     public List<AllRoadmapsResponse> getAllResponseByPageable(Pageable pageable){
         Page<RoadMapGroup> groups = roadmapGroupRepository.findAll(RoadmapSpecification.getExistingRoadmap(),pageable); //findAll 에 specification 포함시키기
-        List<AllRoadmapsResponse> roadmapsResponses=new ArrayList<>();
-        for(RoadMapGroup group:groups){
-            roadmapsResponses.add(getAllRoadmapsResponse(group));
-        }
-        return roadmapsResponses;
+        return getAllRoadmapsResponses(groups.getContent());
+    }
+
+    // 무한 스크롤용 seek 페이징 : 마지막 로드맵의 (좋아요 개수, id) 뒤부터 size 개
+    // 좋아요순은 카운터 컬럼(roadmapGroupLikeCount) 기준, seekSort 는 getSeekSort 값, after 는 controller 에서 decode 한 cursor (첫 페이지면 null)
+    public CursorPage<AllRoadmapsResponse> getRoadmapPage(String keyword, String seekSort, SeekCursor after, int size){
+        String[] keywords=keyword!=null?keyword.split(" "):null;
+        int pageSize=Math.max(1,Math.min(size,MAX_PAGE_SIZE));
+
+        List<RoadMapGroup> fetched=roadmapGroupRepository.findPageAfter(keywords,seekSort,after,pageSize+1);
+        return CursorPage.of(fetched,pageSize,
+                group->SeekCursor.of(seekSort,"likes".equals(seekSort)?group.getRoadmapGroupLikeCount():group.getRoadmapGroupId(),group.getRoadmapGroupId()),
+                this::getAllRoadmapsResponses);
+    }
+
+    // sort = likes (좋아요순), 그 외 최신순
+    public String getSeekSort(String sort){
+        return sort!=null&&sort.contains("likes")?"likes":"newest";
     }
 
     public List<AllRoadmapsResponse> getAllResponseWithoutPage(){
         List<RoadMapGroup> groups = roadmapGroupRepository.findAll(RoadmapSpecification.getExistingRoadmap()); //findAll 에 specification 포함시키기
-        List<AllRoadmapsResponse> roadmapsResponses=new ArrayList<>();
-        for(RoadMapGroup group:groups){
-            roadmapsResponses.add(getAllRoadmapsResponse(group));
-        }
-        return roadmapsResponses;
+        return getAllRoadmapsResponses(groups);
     }
 
     public List<AllRoadmapsResponse> getAllResponseWithFilterWithoutPage(String keyword){
         String[] keywords=keyword.split(" ");
         List<RoadMapGroup> roadMapGroups = roadmapGroupRepository.findAll(RoadmapSpecification.getRoadmapByFilter(keywords));
-        List<AllRoadmapsResponse> responseGroups=new ArrayList<>();
-        for(RoadMapGroup group:roadMapGroups){
-            responseGroups.add(getAllRoadmapsResponse(group));
-        }
-        return responseGroups;
+        return getAllRoadmapsResponses(roadMapGroups);
     }
 
 
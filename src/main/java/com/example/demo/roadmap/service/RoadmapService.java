@@ -16,6 +16,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @Transactional
@@ -29,18 +30,27 @@ public class RoadmapService {
         roadmapRepository.save(roadMap);
     }
 
+    // 로드맵 강의 여러 개를 한 트랜잭션에서 저장 (pooled id 라서 insert batch 로 나감)
+    public void saveRoadmaps(List<RoadMap> roadMaps){
+        roadmapRepository.saveAll(roadMaps);
+    }
+
     public List<RoadMap> getAllRoadMapsByGroup(RoadMapGroup group){
         return roadmapRepository.findAllRoadmapsByGroup(group);
     }
 
     public List<DetailRoadmapLectureResponse> getAllDetailLecturesInRoadmap(List<RoadMap> originRoadmaps, User roadmapWriter){
         List<DetailRoadmapLectureResponse> lectures=new ArrayList<>();
+        List<Long> lectureIds=new ArrayList<>();
+        for(RoadMap roadMap:originRoadmaps)
+            lectureIds.add(roadMap.getLecture().getLectureId());
+        Map<Long,List<String>> hashtags=lectureService.hashtagsFor(lectureIds); //해시태그는 한 번에 조회
 
         for(RoadMap roadMap:originRoadmaps){
             DetailRoadmapLectureResponse lectureResponse=new DetailRoadmapLectureResponse();
             Lecture lecture=roadMap.getLecture();
             BeanUtils.copyProperties(lecture,lectureResponse);
-            lectureResponse.setLectureHashtags(lectureService.getHashtags(lecture.getLectureId()));
+            lectureResponse.setLectureHashtags(hashtags.get(lecture.getLectureId()));
             lectureResponse.setLectureAvgRate(lecture.getAvgRate());
             Review review=reviewService.findByUserAndLecture(roadmapWriter,lecture); //로드맵 작성자의 리뷰를 찾아야함
             if(review==null){
@@ -79,13 +89,14 @@ public class RoadmapService {
             }
         }
 
+        List<RoadMap> newRoadmaps=new ArrayList<>();
         for(int i=0;i<lectures.size();i++){
             Lecture lecture=lectures.get(i);
             if(lecture==null)
                 continue;
-            RoadMap roadMap=new RoadMap(lecture,i+1,group); //null 이 아닌 것만 새롭게 디비에 추가
-            saveRoadmap(roadMap);
+            newRoadmaps.add(new RoadMap(lecture,i+1,group)); //null 이 아닌 것만 새롭게 디비에 추가
         }
+        saveRoadmaps(newRoadmaps);
 
     }
 
@@ -0,0 +1,26 @@
+package com.example.demo.search;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.core.WhitespaceTokenizer;
+import org.apache.lucene.analysis.ngram.NGramTokenFilter;
+
+/**
+ * 공백 단위로 자른 뒤 2~3 글자 n-gram 으로 색인
+ * 형태소 분석기 없이도 "스프링을" 로 검색했을 때 "스프링" 이 들어간 글이 걸리도록 (조사, 붙여쓰기 대응)
+ * 한 글자 단어(C, R 등)도 검색되도록 원래 토큰도 같이 남김
+ */
+public class KoreanNgramAnalyzer extends Analyzer {
+    private static final int MIN_GRAM = 2;
+    private static final int MAX_GRAM = 3;
+
+    @Override
+    protected TokenStreamComponents createComponents(String fieldName) {
+        Tokenizer tokenizer = new WhitespaceTokenizer();
+        TokenStream stream = new LowerCaseFilter(tokenizer);
+        stream = new NGramTokenFilter(stream, MIN_GRAM, MAX_GRAM, true);
+        return new TokenStreamComponents(tokenizer, stream);
+    }
+}
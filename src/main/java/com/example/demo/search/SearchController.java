@@ -0,0 +1,49 @@
+package com.example.demo.search;
+
+import com.example.demo.dto.ResponseMessage;
+import com.example.demo.search.dto.SearchResultResponse;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiImplicitParam;
+import io.swagger.annotations.ApiImplicitParams;
+import io.swagger.annotations.ApiOperation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+@Api(tags = {"통합검색 API"})
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/search")
+public class SearchController {
+    private static final int MAX_PAGE_SIZE = 50;
+    private static final int MAX_KEYWORD_LENGTH = 100;
+    private static final int MAX_RESULT_WINDOW = 10_000; // (page + 1) * size 만큼 상위 문서를 모으므로 깊은 페이지는 막음
+
+    private final SearchIndexService searchIndexService;
+
+    @ApiOperation(value = "강의, 스터디, 로드맵 통합 검색 (관련도 순)")
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "keyword", value = "검색어", example = "스프링", required = true),
+            @ApiImplicitParam(name = "type", value = "LECTURE / STUDY / ROADMAP, 없으면 전체", required = false),
+            @ApiImplicitParam(name = "page", value = "페이지 번호 (0부터)", paramType = "query"),
+            @ApiImplicitParam(name = "size", value = "페이지 크기", paramType = "query")
+    })
+    @GetMapping("")
+    public ResponseEntity<ResponseMessage> search(@RequestParam String keyword,
+                                                  @RequestParam(required = false) SearchType type,
+                                                  @RequestParam(defaultValue = "0") int page,
+                                                  @RequestParam(defaultValue = "20") int size) throws IOException {
+        if (keyword.isBlank() || keyword.length() > MAX_KEYWORD_LENGTH || page < 0 || size < 1 || size > MAX_PAGE_SIZE
+                || ((long) page + 1) * size > MAX_RESULT_WINDOW)
+            return new ResponseEntity<>(new ResponseMessage(400, "잘못된 검색 요청"), HttpStatus.BAD_REQUEST);
+
+        SearchResultResponse result = searchIndexService.search(keyword, type, page, size);
+        return new ResponseEntity<>(ResponseMessage.withData(200, "검색 결과 조회 성공", result), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.demo.search;
+
+import com.example.demo.lecture.Lecture;
+import com.example.demo.roadmap.RoadMapGroup;
+import com.example.demo.study.domain.StudyPost;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 엔티티 저장/수정/삭제 시점의 검색용 데이터 (커밋 이후에 인덱스에 반영)
+@Getter
+@AllArgsConstructor
+public class SearchIndexEvent {
+    private final SearchType type;
+    private final long id;
+    private final String title;
+    private final String content;
+    private final boolean removed;
+
+    public static SearchIndexEvent ofLecture(long lectureId, String title, String lecturer, String siteName){
+        return new SearchIndexEvent(SearchType.LECTURE, lectureId, title, join(lecturer, siteName), false);
+    }
+
+    public static SearchIndexEvent from(Lecture lecture){
+        return ofLecture(lecture.getLectureId(), lecture.getLectureTitle(), lecture.getLecturer(), lecture.getSiteName());
+    }
+
+    public static SearchIndexEvent from(StudyPost post){
+        return new SearchIndexEvent(SearchType.STUDY, post.getStudyPostId(), post.getStudyTitle(),
+                join(post.getStudyContent(), post.getStudyCategoryName(), post.getStudyLocation()),
+                post.getStudyStatus() == null || post.getStudyStatus() == 0); // 삭제된 글은 인덱스에서 제거
+    }
+
+    public static SearchIndexEvent from(RoadMapGroup group){
+        return new SearchIndexEvent(SearchType.ROADMAP, group.getRoadmapGroupId(), group.getRoadmapGroupTitle(),
+                join(group.getRoadmapGroupRecommendation()),
+                group.getRoadmapGroupStatus() == null || group.getRoadmapGroupStatus() == 0);
+    }
+
+    public static SearchIndexEvent removed(SearchType type, long id){
+        return new SearchIndexEvent(type, id, null, null, true);
+    }
+
+    public SearchIndexEvent asRemoved(){
+        return removed(type, id);
+    }
+
+    private static String join(String... values){
+        StringBuilder sb = new StringBuilder();
+        for (String value : values) {
+            if (value != null)
+                sb.append(value).append(' ');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.demo.search;
+
+import com.example.demo.lecture.Lecture;
+import com.example.demo.roadmap.RoadMapGroup;
+import com.example.demo.study.domain.StudyPost;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * Lecture, StudyPost, RoadMapGroup 에 @EntityListeners 로 등록
+ * 저장/수정/삭제될 때 이벤트만 발행하고, 실제 색인은 커밋 이후 SearchIndexService 에서 처리
+ * (QueryDSL bulk update/delete 는 여기를 거치지 않으므로 해당 서비스에서 직접 이벤트 발행)
+ */
+@Component
+@RequiredArgsConstructor
+public class SearchIndexListener {
+    private final ApplicationEventPublisher publisher;
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Object entity) {
+        SearchIndexEvent event = toEvent(entity);
+        if (event != null)
+            publisher.publishEvent(event);
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        SearchIndexEvent event = toEvent(entity);
+        if (event != null)
+            publisher.publishEvent(event.asRemoved());
+    }
+
+    private SearchIndexEvent toEvent(Object entity) {
+        if (entity instanceof Lecture)
+            return SearchIndexEvent.from((Lecture) entity);
+        if (entity instanceof StudyPost)
+            return SearchIndexEvent.from((StudyPost) entity);
+        if (entity instanceof RoadMapGroup)
+            return SearchIndexEvent.from((RoadMapGroup) entity);
+        return null;
+    }
+}
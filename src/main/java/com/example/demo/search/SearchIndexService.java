@@ -0,0 +1,240 @@
+package com.example.demo.search;
+
+import com.example.demo.lecture.repository.LectureRepository;
+import com.example.demo.roadmap.repository.RoadmapGroupRepository;
+import com.example.demo.roadmap.repository.RoadmapSpecification;
+import com.example.demo.search.dto.SearchHitResponse;
+import com.example.demo.search.dto.SearchResultResponse;
+import com.example.demo.study.repository.StudyPostRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.ControlledRealTimeReopenThread;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 강의, 스터디글, 로드맵을 하나의 디스크 기반 Lucene 인덱스로 관리
+ * - 제목(title)은 본문(content)보다 가중치를 높게 줘서 BM25 점수순 정렬
+ * - 엔티티 변경은 SearchIndexEvent 로 받아서 커밋 이후 문서 단위로 갱신
+ * - 변경마다 디스크에 commit(fsync) 하지 않고 commit-every 건마다, 또는 commit-ms 주기로 commit
+ *   검색 결과에는 commit 전이라도 ControlledRealTimeReopenThread 가 refresh-max-stale-ms 안에 반영
+ *   (서버가 비정상 종료되면 마지막 commit 이후 변경은 인덱스에서 빠짐 -> 해당 엔티티가 다시 바뀔 때 반영)
+ * - 인덱스가 비어있으면 (최초 실행, 인덱스 디렉토리 삭제) 서버 시작 시 디비에서 전체 색인
+ */
+@Slf4j
+@Service
+public class SearchIndexService {
+    private static final String KEY = "key";
+    private static final String TYPE = "type";
+    private static final String ID = "id";
+    private static final String TITLE = "title";
+    private static final String CONTENT = "content";
+    private static final float TITLE_BOOST = 2.0f;
+
+    private final LectureRepository lectureRepository;
+    private final StudyPostRepository studyPostRepository;
+    private final RoadmapGroupRepository roadmapGroupRepository;
+
+    private final Analyzer analyzer = new KoreanNgramAnalyzer();
+    private final FSDirectory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final ControlledRealTimeReopenThread<IndexSearcher> reopenThread;
+
+    private final int commitEvery;
+    private final AtomicInteger uncommitted = new AtomicInteger();
+
+    public SearchIndexService(LectureRepository lectureRepository,
+                              StudyPostRepository studyPostRepository,
+                              RoadmapGroupRepository roadmapGroupRepository,
+                              @Value("${search.index-dir:./search-index}") String indexDir,
+                              @Value("${search.commit-every:500}") int commitEvery,
+                              @Value("${search.refresh-max-stale-ms:1000}") long refreshMaxStaleMs) throws IOException {
+        this.lectureRepository = lectureRepository;
+        this.studyPostRepository = studyPostRepository;
+        this.roadmapGroupRepository = roadmapGroupRepository;
+        this.commitEvery = commitEvery;
+        this.directory = FSDirectory.open(Paths.get(indexDir));
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+        this.searcherManager = new SearcherManager(writer, null);
+        double maxStaleSec = refreshMaxStaleMs / 1000.0;
+        this.reopenThread = new ControlledRealTimeReopenThread<>(writer, searcherManager, maxStaleSec, Math.min(0.1, maxStaleSec));
+        this.reopenThread.setName("search-index-reopen");
+        this.reopenThread.setDaemon(true);
+        this.reopenThread.start();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void buildIndexIfEmpty() throws IOException {
+        if (writer.getDocStats().numDocs > 0)
+            return;
+        long start = System.currentTimeMillis();
+        lectureRepository.findAll().forEach(lecture -> write(SearchIndexEvent.from(lecture)));
+        studyPostRepository.findAll().forEach(post -> write(SearchIndexEvent.from(post)));
+        roadmapGroupRepository.findAll(RoadmapSpecification.getExistingRoadmap()).forEach(group -> write(SearchIndexEvent.from(group)));
+        commit();
+        searcherManager.maybeRefresh();
+        log.info("search index built - " + writer.getDocStats().numDocs + " docs in " + (System.currentTimeMillis() - start) + "ms");
+    }
+
+    // 트랜잭션 안에서 발행된 이벤트는 커밋 이후에 반영 (롤백되면 반영 X), 트랜잭션 밖이면 바로 반영
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIndexEvent(SearchIndexEvent event) {
+        write(event);
+        if (uncommitted.incrementAndGet() >= commitEvery)
+            commit();
+    }
+
+    // commit-every 건이 안 모여도 주기적으로 디스크에 반영
+    @Scheduled(fixedDelayString = "${search.commit-ms:30000}", initialDelayString = "${search.commit-ms:30000}")
+    public void commitPending() {
+        if (writer.hasUncommittedChanges())
+            commit();
+    }
+
+    public SearchResultResponse search(String keyword, SearchType type, int page, int size) throws IOException {
+        Query query = buildQuery(keyword, type);
+        if (query == null)
+            return new SearchResultResponse(0, new ArrayList<>());
+
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            TopDocs topDocs = searcher.search(query, (page + 1) * size);
+            List<SearchHitResponse> hits = new ArrayList<>();
+            ScoreDoc[] scoreDocs = topDocs.scoreDocs;
+            for (int i = page * size; i < scoreDocs.length; i++) {
+                Document document = searcher.doc(scoreDocs[i].doc);
+                hits.add(new SearchHitResponse(
+                        SearchType.valueOf(document.get(TYPE)),
+                        document.getField(ID).numericValue().longValue(),
+                        document.get(TITLE),
+                        scoreDocs[i].score));
+            }
+            return new SearchResultResponse(topDocs.totalHits.value, hits);
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    // (title^2 OR content) 에 타입 필터, 검색어에서 나온 n-gram 이 많이 겹칠수록 점수가 높음
+    private Query buildQuery(String keyword, SearchType type) throws IOException {
+        Set<String> terms = analyze(keyword);
+        if (terms.isEmpty())
+            return null;
+
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+        builder.add(new BoostQuery(termsQuery(TITLE, terms), TITLE_BOOST), BooleanClause.Occur.SHOULD);
+        builder.add(termsQuery(CONTENT, terms), BooleanClause.Occur.SHOULD);
+        builder.setMinimumNumberShouldMatch(1);
+        if (type != null)
+            builder.add(new TermQuery(new Term(TYPE, type.name())), BooleanClause.Occur.FILTER);
+        return builder.build();
+    }
+
+    private Query termsQuery(String field, Set<String> terms) {
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+        for (String term : terms) {
+            builder.add(new TermQuery(new Term(field, term)), BooleanClause.Occur.SHOULD);
+        }
+        return builder.build();
+    }
+
+    // 색인할 때와 같은 analyzer 로 검색어를 토큰으로 나누기
+    private Set<String> analyze(String keyword) throws IOException {
+        Set<String> terms = new LinkedHashSet<>();
+        try (TokenStream stream = analyzer.tokenStream(TITLE, keyword)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                terms.add(term.toString());
+            }
+            stream.end();
+        }
+        return terms;
+    }
+
+    private void write(SearchIndexEvent event) {
+        Term key = new Term(KEY, key(event.getType(), event.getId()));
+        try {
+            if (event.isRemoved()) {
+                writer.deleteDocuments(key);
+                return;
+            }
+            Document document = new Document();
+            document.add(new StringField(KEY, key.text(), Field.Store.NO));
+            document.add(new StringField(TYPE, event.getType().name(), Field.Store.YES));
+            document.add(new StoredField(ID, event.getId()));
+            document.add(new TextField(TITLE, nullToEmpty(event.getTitle()), Field.Store.YES));
+            document.add(new TextField(CONTENT, nullToEmpty(event.getContent()), Field.Store.NO));
+            writer.updateDocument(key, document); // 같은 key 문서가 있으면 교체
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // 백그라운드 reopen 을 기다리지 않고 바로 검색에 반영 (테스트용)
+    void refresh() throws IOException {
+        searcherManager.maybeRefreshBlocking();
+    }
+
+    private void commit() {
+        uncommitted.set(0);
+        try {
+            writer.commit();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String key(SearchType type, long id) {
+        return type.name() + ":" + id;
+    }
+
+    private String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        reopenThread.close();
+        searcherManager.close();
+        writer.close(); // commit 안 된 변경도 닫을 때 commit 됨
+        directory.close();
+    }
+}
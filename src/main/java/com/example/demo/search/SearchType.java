@@ -0,0 +1,6 @@
+package com.example.demo.search;
+
+// 검색 인덱스에 들어가는 문서 종류
+public enum SearchType {
+    LECTURE, STUDY, ROADMAP
+}
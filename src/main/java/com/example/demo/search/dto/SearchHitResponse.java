@@ -0,0 +1,14 @@
+package com.example.demo.search.dto;
+
+import com.example.demo.search.SearchType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class SearchHitResponse {
+    private SearchType type; // LECTURE, STUDY, ROADMAP -> 상세 페이지 이동용
+    private long id; // lectureId, studyPostId, roadmapGroupId
+    private String title;
+    private float score; // 관련도 점수
+}
@@ -0,0 +1,13 @@
+package com.example.demo.search.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class SearchResultResponse {
+    private long totalCount; // 전체 검색 결과 개수
+    private List<SearchHitResponse> hits; // 요청한 페이지의 결과 (관련도 순)
+}
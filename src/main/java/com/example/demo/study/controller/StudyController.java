@@ -1,11 +1,11 @@
 package com.example.demo.study.controller;
 
 import com.example.demo.dto.*;
-import com.example.demo.like.Like;
 import com.example.demo.lecture.RecommendService;
 import com.example.demo.report.Report;
 import com.example.demo.user.UserDetailsServiceImpl;
 import com.example.demo.like.LikeService;
+import com.example.demo.like.LikeTarget;
 import com.example.demo.report.ReportService;
 import com.example.demo.study.dto.AllStudyPostsResponse;
 import com.example.demo.study.dto.DetailStudyPostResponse;
@@ -16,6 +16,7 @@ import com.example.demo.study.domain.StudyComment;
 import com.example.demo.study.domain.StudyPost;
 import com.example.demo.user.domain.User;
 import com.example.demo.user.dto.SimpleUserDto;
+import com.example.demo.util.SeekCursor;
 import io.swagger.annotations.Api;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.BeanUtils;
@@ -49,7 +50,7 @@ public class StudyController {
 
     @GetMapping("/studies")
     public ResponseEntity<ResponseMessage> getStudiesByKeyword(@RequestParam(required = false) String keyword, @RequestParam(required = false) String location, @RequestParam(required = false) String category,
-                                                               @RequestParam String sort, @RequestParam(required = false) Integer recruitStatus){
+                                                               @RequestParam String sort, @RequestParam(required = false) Integer recruitStatus, Principal principal){
 
         //requestParam : recruitStatus = 1 (모집중) 모집 아니면 null, order = asc (오래된 순), desc (최신순), likes (좋아요 순)
         //pageable 없을 경우: sort 사용 -> 좋아요순 (Sort.by(likeCount), 최신순 (Sort.by(studyPostId, asc) where studyStatus == 1, 오래된 순 (Sort.by(studyPostId, dsc) where studyStatus == 1
@@ -59,6 +60,7 @@ public class StudyController {
                 return new ResponseEntity<>(new ResponseMessage(200,"등록된 스터디글이 없습니다."),HttpStatus.OK);
             }
            List<AllStudyPostsResponse> studiesResponseList=studyPostService.getAllStudiesResponse(studyPostList);
+           markLikedByMe(studiesResponseList,principal);
             return new ResponseEntity<>(ResponseMessage.withData(200,"전체 스터디글 조회 성공",studiesResponseList), HttpStatus.OK);
         }
 
@@ -67,9 +69,33 @@ public class StudyController {
             return new ResponseEntity<>(new ResponseMessage(200,"조건에 맞는 스터디글이 없습니다."),HttpStatus.OK);
         }
         List<AllStudyPostsResponse> filteredResponseList=studyPostService.getAllStudiesResponse(filteredPosts);
+        markLikedByMe(filteredResponseList,principal);
         return new ResponseEntity<>(ResponseMessage.withData(200,"스터디글 조회 성공",filteredResponseList), HttpStatus.OK);
     }
 
+    @GetMapping("/studies/cursor")
+    public ResponseEntity<ResponseMessage> getStudiesByCursor(@RequestParam(required = false) String keyword, @RequestParam(required = false) String location, @RequestParam(required = false) String category,
+                                                              @RequestParam(required = false) String sort, @RequestParam(required = false) Integer recruitStatus,
+                                                              @RequestParam(required = false) String cursor, @RequestParam(defaultValue = "20") int size, Principal principal){
+        //무한 스크롤용: 조건/정렬은 /studies 와 같고, 응답의 nextCursor 를 다음 요청의 cursor 로 전달 (정렬을 바꾸면 cursor 없이 처음부터)
+        String seekSort=studyPostService.getSeekSort(sort);
+        SeekCursor after;
+        try{ // 서비스(트랜잭션) 안에서 예외가 나면 rollback-only 가 되므로 여기서 먼저 검증
+            after=SeekCursor.decode(cursor,seekSort);
+        }catch (IllegalArgumentException e){ // cursor 형식 오류
+            return new ResponseEntity<>(new ResponseMessage(400,"잘못된 cursor 입니다."),HttpStatus.BAD_REQUEST);
+        }
+        CursorPage<AllStudyPostsResponse> studyPostPage=studyPostService.getStudyPostPage(category,keyword,location,recruitStatus,seekSort,after,size);
+        markLikedByMe(studyPostPage.getItems(),principal);
+        return new ResponseEntity<>(ResponseMessage.withData(200,"스터디글 조회 성공",studyPostPage), HttpStatus.OK);
+    }
+
+    // 목록의 likedByMe 채우기 (로그인 안 한 경우 전부 false)
+    private void markLikedByMe(List<AllStudyPostsResponse> studies, Principal principal){
+        User user=principal==null?null:userDetailsService.findUserByEmail(principal.getName());
+        likeService.markLikedByMe(LikeTarget.STUDY_POST,user,studies,AllStudyPostsResponse::getStudyPostId,AllStudyPostsResponse::setLikedByMe);
+    }
+
     @PostMapping("/studies")
     public ResponseEntity<ResponseMessage> uploadStudyPost(@RequestBody StudyPostDTO postDto, Principal principal){
         //StudyPost 객체를 그대로 반환
@@ -101,8 +127,7 @@ public class StudyController {
             BeanUtils.copyProperties(post,studyPostResponse); //스터디글 핵심정보만 복사
             studyPostResponse.setStudyRecruitState(post.getStudyRecruitStatus()==1?"모집중":"모집완료"); // 모집중인지 아닌지 텍스트로 return
             studyPostResponse.setLikeCount(likeService.getLikeCountOnStudyPost(post)); //스터디글에 대한 좋아요 개수
-            Like userLiked=likeService.findLikeByStudyPostandUser(post,loginUser);
-            studyPostResponse.setIsLikedByUser(userLiked!=null&&userLiked.getLikeStatus()==1); //맞으면 true, 아니면 false
+            studyPostResponse.setIsLikedByUser(likeService.isStudyPostLiked(post,loginUser)); //맞으면 true, 아니면 false (버퍼에 있는 토글 포함)
             //comment 제외 모든 정보 setting 완료
 
             List<StudyComment> comments=studyCommentService.findAllParentCommentsOnPosts(post);
@@ -172,21 +197,17 @@ public class StudyController {
         if(post == null) // 스터디가 없는 경우
             return new ResponseEntity<>(new ResponseMessage(404, "해당하는 스터디가 없습니다"), HttpStatus.NOT_FOUND);
 
-        Like like = likeService.findLikeByStudyPostandUser(post,user);
-        if(like ==null){
+        String likeStatus = likeService.changeLikeStatus(post, user); // 좋아요 개수 카운터도 같이 반영
+        if(likeStatus.equals("like busy")){ // write-behind 버퍼 flush 와 계속 겹친 경우
+            return new ResponseEntity<>(new ResponseMessage(503,"좋아요 처리 중입니다. 잠시 후 다시 시도해주세요"),HttpStatus.SERVICE_UNAVAILABLE);
+        }else if(likeStatus.equals("like success")){
             //최초 좋아요 등록
-            like =new Like(user,post);
-            likeService.saveLike(like);
             return new ResponseEntity<>(new ResponseMessage(201,studyId+"번 스터디글 좋아요 등록 성공"),HttpStatus.CREATED); // 아놕 왜 좋아요 누른 post 정보가 같이 안보내질까,,, 안보내줘도 되나??
-        }else if(like.getLikeStatus()==0){
+        }else if(likeStatus.equals("like success again")){
             //좋아요 누른 데이터가 있는데 좋아요가 취소된 상태라면 다시 좋아요 설정
-            like.setLikeStatus(1);
-            likeService.saveLike(like);
             return new ResponseEntity<>(new ResponseMessage(200,studyId+"번 스터디글 좋아요로 상태 변경 성공"),HttpStatus.OK);
         }else{
             //좋아요 누른 데이터가 있는데 좋아요가 눌려있는 상태 -> 좋아요를 취소해줘야함
-            like.setLikeStatus(0);
-            likeService.saveLike(like);
             return new ResponseEntity<>(new ResponseMessage(200,studyId+"번 스터디글 좋아요 취소 성공"),HttpStatus.OK);
         }
 
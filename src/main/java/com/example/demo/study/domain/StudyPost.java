@@ -3,6 +3,7 @@ package com.example.demo.study.domain;
 
 import com.example.demo.like.Like;
 import com.example.demo.report.Report;
+import com.example.demo.search.SearchIndexListener;
 import com.example.demo.user.domain.User;
 import com.example.demo.study.dto.StudyPostDTO;
 import com.fasterxml.jackson.annotation.JsonBackReference;
@@ -12,6 +13,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.DynamicUpdate;
 import org.springframework.data.annotation.CreatedDate;
 
 import javax.persistence.*;
@@ -22,7 +24,10 @@ import java.util.List;
 @Entity
 @Data
 @NoArgsConstructor
-@Table(name="studyPosts")
+@Table(name="studyPosts", indexes = // 좋아요순 seek 페이징 (InnoDB 보조 인덱스 끝에 study_post_id 가 붙으므로 같은 개수끼리는 id 순)
+        @Index(name = "idx_study_post_status_like", columnList = "studyStatus, studyLikeCount"))
+@EntityListeners(SearchIndexListener.class) // 저장/수정/삭제 시 검색 인덱스 반영
+@DynamicUpdate // 좋아요 카운터를 덮어쓰지 않도록 변경된 컬럼만 update
 @ToString(exclude={"reports", "likes", "studyComments"})
 public class StudyPost {
 
@@ -71,6 +76,10 @@ public class StudyPost {
     @NotNull
     private Integer studyReportCount=0;
 
+    @Column(columnDefinition = "integer default 0")
+    @NotNull
+    private Integer studyLikeCount=0; // 좋아요 개수 (좋아요 변경 시 같이 증감)
+
     @ManyToOne(fetch = FetchType.LAZY, targetEntity = User.class) // M:1 관계일 때, M 에 해당하는 테이블에 해당 annotation 이 붙는다. (한 명의 유저에게 M개의 스터디글)
     @JoinColumn(name="userId") // join이 이루어지는 기준, 즉 외래키에 대한 설정 name: 매핑할 테이블 이름_그 테이블의 연결할 컬럼 이름
     @JsonBackReference
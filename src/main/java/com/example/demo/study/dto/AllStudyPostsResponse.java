@@ -21,5 +21,7 @@ public class AllStudyPostsResponse {
 
     private Integer studyLikeCount;
 
+    private boolean likedByMe; // 로그인한 사용자가 좋아요 눌렀는지 (목록 조회 후 한 번에 채움)
+
     private SimpleUserDto studyPostWriter;
 }
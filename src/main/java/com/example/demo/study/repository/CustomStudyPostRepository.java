@@ -3,12 +3,19 @@ package com.example.demo.study.repository;
 import com.example.demo.mypage.dto.MyStudiesResponse;
 import com.example.demo.study.domain.StudyPost;
 import com.example.demo.user.domain.User;
+import com.example.demo.util.SeekCursor;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Map;
 
 @Repository
 public interface CustomStudyPostRepository {
     List<StudyPost> findPostsWithFilter(String[] categories, String[] keywords, String location, Integer recruitStatus, String sort);
+    // sort : desc (최신순), asc (오래된 순), likes (좋아요순) - cursor 가 null 이면 첫 페이지
+    List<StudyPost> findPageAfter(String[] categories, String[] keywords, String location, Integer recruitStatus, String sort, SeekCursor cursor, int limit);
     List<MyStudiesResponse> findByUser(User user);
+    void addLikeCount(Long studyPostId, int delta);
+    Map<Long, Integer> findLikeCountsAfter(Long lastStudyPostId, int size);
+    long fixLikeCount(Long studyPostId, int expected, int actual);
 }
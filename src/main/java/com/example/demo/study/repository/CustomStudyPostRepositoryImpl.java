@@ -3,14 +3,19 @@ package com.example.demo.study.repository;
 import com.example.demo.mypage.dto.MyStudiesResponse;
 import com.example.demo.study.domain.StudyPost;
 import com.example.demo.user.domain.User;
+import com.example.demo.util.SeekCursor;
 import com.querydsl.core.BooleanBuilder;
 import com.querydsl.core.types.OrderSpecifier;
 import com.querydsl.core.types.Projections;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import static com.example.demo.study.domain.QStudyPost.studyPost;
 
@@ -34,6 +39,38 @@ public class CustomStudyPostRepositoryImpl implements CustomStudyPostRepository
 
     }
 
+    // seek 페이징 : cursor 위치 뒤부터 limit 개 (offset/COUNT 없음), 작성자는 목록 응답에서 쓰므로 같이 조회
+    @Override
+    public List<StudyPost> findPageAfter(String[] categories, String[] keywords, String location, Integer recruitStatus, String sort, SeekCursor cursor, int limit) {
+        BooleanBuilder where = predicate(categories, keywords, location, recruitStatus);
+        OrderSpecifier<?>[] orderSpecifiers;
+        if ("likes".equals(sort)) { // 좋아요 많은 순, 같으면 최신순
+            orderSpecifiers = new OrderSpecifier<?>[]{studyPost.studyLikeCount.desc(), studyPost.studyPostId.desc()};
+            if (cursor != null) {
+                where.and(studyPost.studyLikeCount.lt(cursor.intKey())
+                        .or(studyPost.studyLikeCount.eq(cursor.intKey()).and(studyPost.studyPostId.lt(cursor.getId()))));
+            }
+        } else if ("asc".equals(sort)) { // 오래된 순
+            orderSpecifiers = new OrderSpecifier<?>[]{studyPost.studyPostId.asc()};
+            if (cursor != null) {
+                where.and(studyPost.studyPostId.gt(cursor.getId()));
+            }
+        } else { // 최신순
+            orderSpecifiers = new OrderSpecifier<?>[]{studyPost.studyPostId.desc()};
+            if (cursor != null) {
+                where.and(studyPost.studyPostId.lt(cursor.getId()));
+            }
+        }
+
+        return jpaQueryFactory
+                .selectFrom(studyPost)
+                .join(studyPost.user).fetchJoin()
+                .where(where)
+                .orderBy(orderSpecifiers)
+                .limit(limit)
+                .fetch();
+    }
+
     private BooleanBuilder predicate(String[] categories, String[] keywords, String location,Integer recruitStatus) {
         BooleanBuilder builder = new BooleanBuilder();
         if (categories != null) {
@@ -82,4 +119,36 @@ public class CustomStudyPostRepositoryImpl implements CustomStudyPostRepository
                 .where(studyPost.user.eq(user), studyPost.studyStatus.eq(1))
                 .fetch();
     }
+
+    @Override
+    public void addLikeCount(Long studyPostId, int delta) {
+        jpaQueryFactory
+                .update(studyPost)
+                .set(studyPost.studyLikeCount, studyPost.studyLikeCount.add(delta))
+                .where(studyPost.studyPostId.eq(studyPostId))
+                .execute();
+    }
+
+    @Override
+    public Map<Long, Integer> findLikeCountsAfter(Long lastStudyPostId, int size) {
+        return jpaQueryFactory
+                .select(studyPost.studyPostId, studyPost.studyLikeCount)
+                .from(studyPost)
+                .where(studyPost.studyPostId.gt(lastStudyPostId))
+                .orderBy(studyPost.studyPostId.asc())
+                .limit(size)
+                .fetch()
+                .stream()
+                .collect(Collectors.toMap(t -> t.get(0, Long.class), t -> t.get(1, Integer.class), (a, b) -> a, LinkedHashMap::new));
+    }
+
+    @Override
+    @Transactional
+    public long fixLikeCount(Long studyPostId, int expected, int actual) {
+        return jpaQueryFactory
+                .update(studyPost)
+                .set(studyPost.studyLikeCount, actual)
+                .where(studyPost.studyPostId.eq(studyPostId), studyPost.studyLikeCount.eq(expected))
+                .execute();
+    }
 }
@@ -1,5 +1,6 @@
 package com.example.demo.study.service;
 
+import com.example.demo.dto.CursorPage;
 import com.example.demo.like.LikeService;
 import com.example.demo.study.domain.StudyPost;
 import com.example.demo.study.dto.AllStudyPostsResponse;
@@ -8,6 +9,7 @@ import com.example.demo.study.util.StudyPostLikeCalc;
 import com.example.demo.study.util.StudyPostLikeComparator;
 import com.example.demo.user.UserDetailsServiceImpl;
 import com.example.demo.study.repository.StudyPostRepository;
+import com.example.demo.util.SeekCursor;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.BeanUtils;
 import org.springframework.data.domain.Sort;
@@ -20,6 +22,7 @@ import java.util.*;
 @AllArgsConstructor
 @Transactional
 public class StudyPostService {
+    private static final int MAX_PAGE_SIZE = 50; // seek 페이징 한 번에 가져오는 최대 글 수
     private final StudyPostRepository studyPostRepository;
     private final UserDetailsServiceImpl userDetailsService;
     private final LikeService likeService;
@@ -94,9 +97,9 @@ public class StudyPostService {
 
     private List<StudyPost> getLikeOrderedStudyPosts(List<StudyPost> studyPosts){
         List<StudyPostLikeCalc> calcList=new ArrayList<>();
+        Map<Long,Integer> likeCounts=likeService.getLikeCountsOnStudyPosts(studyPosts); // 한 번에 조회
         for(StudyPost post:studyPosts){
-            Integer likeCount=likeService.getLikeCountOnStudyPost(post);
-            calcList.add(new StudyPostLikeCalc(post,likeCount));
+            calcList.add(new StudyPostLikeCalc(post,likeCounts.get(post.getStudyPostId())));
         }
         Collections.sort(calcList,new StudyPostLikeComparator());
         studyPosts.clear();
@@ -124,14 +127,39 @@ public class StudyPostService {
         return filteredPosts;
     }
 
+    // 무한 스크롤용 seek 페이징 : 마지막 글의 (좋아요 개수, id) 뒤부터 size 개 -> 몇 번째 페이지든 인덱스에서 바로 찾음
+    // 좋아요순은 카운터 컬럼(studyLikeCount) 기준, seekSort 는 getSeekSort 값, after 는 controller 에서 decode 한 cursor (첫 페이지면 null)
+    public CursorPage<AllStudyPostsResponse> getStudyPostPage(String originCategories, String originKeywords, String location, Integer recruitStatus,
+                                                              String seekSort, SeekCursor after, int size){
+        String[] categories=originCategories!=null?originCategories.split(","):null;
+        String[] keywords=originKeywords!=null?originKeywords.split(" "):null;
+        int pageSize=Math.max(1,Math.min(size,MAX_PAGE_SIZE));
+
+        List<StudyPost> fetched=studyPostRepository.findPageAfter(categories,keywords,location,recruitStatus,seekSort,after,pageSize+1);
+        return CursorPage.of(fetched,pageSize,
+                post->SeekCursor.of(seekSort,"likes".equals(seekSort)?post.getStudyLikeCount():post.getStudyPostId(),post.getStudyPostId()),
+                this::getAllStudiesResponse);
+    }
+
+    // getSort 와 같은 기준 (likes > asc > 그 외 최신순)
+    public String getSeekSort(String sort){
+        if(sort!=null&&sort.contains("likes")){
+            return "likes";
+        }else if(sort!=null&&(sort.contains("asc")||sort.contains("ASC"))){
+            return "asc";
+        }
+        return "desc";
+    }
+
     //전체 스터디글을 화면에 보여줄 때 list 데이터
     public List<AllStudyPostsResponse> getAllStudiesResponse(List<StudyPost> studyPostList){
         List<AllStudyPostsResponse> studiesResponseList=new ArrayList<>();
+        Map<Long,Integer> likeCounts=likeService.getLikeCountsOnStudyPosts(studyPostList); // 글마다 조회하지 않고 한 번에
         for(StudyPost post:studyPostList){
             AllStudyPostsResponse studyResponse=new AllStudyPostsResponse();
             studyResponse.setStudyPostWriter(userDetailsService.getSimpleUserDto(post.getUser()));
             BeanUtils.copyProperties(post,studyResponse);
-            studyResponse.setStudyLikeCount(likeService.getLikeCountOnStudyPost(post));
+            studyResponse.setStudyLikeCount(likeCounts.get(post.getStudyPostId()));
             studyResponse.setStudyRecruitState(post.getStudyRecruitStatus()==1?"모집중":"모집완료");
             studiesResponseList.add(studyResponse);
         }
@@ -5,7 +5,12 @@ import com.example.demo.user.domain.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface UserHashtagPreferenceRepository extends JpaRepository<UserPreferenceHashtag, Long> {
     UserPreferenceHashtag findByUserAndHashtag(User user, Hashtag hashtag);
+
+    List<UserPreferenceHashtag> findByUserAndHashtagIn(User user, Collection<Hashtag> hashtags);
 }
@@ -2,6 +2,7 @@ package com.example.demo.userPreferenceHashtag;
 
 import com.example.demo.hashtag.Hashtag;
 import com.example.demo.user.domain.User;
+import com.example.demo.util.IdSequenceInitializer;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -14,7 +15,11 @@ import java.time.LocalDateTime;
 @Table(name = "userPreferenceHashtags")
 @NoArgsConstructor
 public class UserPreferenceHashtag {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id // 좋아요 한 번에 강의 해시태그 수만큼 insert -> batch 가 되도록 pooled id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "user_preference_tag_id")
+    @TableGenerator(name = "user_preference_tag_id", table = IdSequenceInitializer.TABLE,
+            pkColumnName = IdSequenceInitializer.PK_COLUMN, valueColumnName = IdSequenceInitializer.VALUE_COLUMN,
+            pkColumnValue = "user_preference_hashtags", allocationSize = IdSequenceInitializer.ALLOCATION_SIZE)
     private Long userPreferenceTagId;
 
     //1 hashtag -> N 선호도 tag
@@ -9,7 +9,11 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -19,22 +23,30 @@ public class UserPreferenceHashtagService {
     private final LectureHashtagRepository lectureHashtagRepository;
 
     //사용자가 강의에 좋아요 누르거나 취소할 때 마다 수행 -> 좋아요 누른 경우: likeStatus == 1, 취소한 경우: likeStatus == -1
+    //기존 선호도는 IN 쿼리 한 번으로 찾고, 새 선호도는 saveAll -> pooled id 라서 insert batch 로 나감
     public void updateUserPreferenceHashtag(User user, Lecture lecture,int likeStatus){
         List<LectureHashtag> lectureHashtags = lectureHashtagRepository.findByLecture(lecture);
-        for(LectureHashtag lectureHashtag:lectureHashtags){
-            Hashtag hashtag = lectureHashtag.getHashtag();
-            UserPreferenceHashtag userHashtag = findExistingUserHashtag(hashtag, user);
+        if(lectureHashtags.isEmpty())
+            return;
+        List<Hashtag> hashtags = lectureHashtags.stream()
+                .map(LectureHashtag::getHashtag)
+                .collect(Collectors.toList());
+        Map<Long, UserPreferenceHashtag> existing = preferenceRepository.findByUserAndHashtagIn(user, hashtags)
+                .stream()
+                .collect(Collectors.toMap(p -> p.getHashtag().getHashtagId(), Function.identity(), (a, b) -> a));
+
+        List<UserPreferenceHashtag> created = new ArrayList<>();
+        for(Hashtag hashtag:hashtags){
+            UserPreferenceHashtag userHashtag = existing.get(hashtag.getHashtagId());
             if(userHashtag==null){
                 userHashtag=UserPreferenceHashtag.builder()
                         .hashtag(hashtag).user(user).build();
+                existing.put(hashtag.getHashtagId(), userHashtag);
+                created.add(userHashtag);
             }else{
-                userHashtag.updatePreference(likeStatus);
+                userHashtag.updatePreference(likeStatus); // 변경 감지로 update (order_updates 로 batch)
             }
-            preferenceRepository.save(userHashtag);
         }
-    }
-
-    private UserPreferenceHashtag findExistingUserHashtag(Hashtag hashtag, User user){
-        return preferenceRepository.findByUserAndHashtag(user,hashtag);
+        preferenceRepository.saveAll(created);
     }
 }
@@ -0,0 +1,58 @@
+package com.example.demo.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * SHA-256 hex 문자열(UrlCanonicalizer.canonicalHash) 전용 Bloom filter
+ * - mightContain 이 false 면 확실히 없음, true 면 있을 수도 있음 (DB 확인 필요)
+ * - 해시가 이미 균일하므로 앞 32자리를 두 long 으로 나눠 double hashing (h1 + i * h2)
+ * - 여러 스레드에서 put/mightContain 동시 호출 가능, 삭제는 불가 (주기적으로 다시 만들어서 정리)
+ */
+public class BloomFilter {
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, (m + 63) / 64);
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+    }
+
+    public void put(String hexHash) {
+        long h1 = Long.parseUnsignedLong(hexHash.substring(0, 16), 16);
+        long h2 = Long.parseUnsignedLong(hexHash.substring(16, 32), 16);
+        for (int i = 0; i < hashCount; i++) {
+            long index = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            long current = bits.get(word);
+            while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+                current = bits.get(word);
+            }
+        }
+    }
+
+    public boolean mightContain(String hexHash) {
+        long h1 = Long.parseUnsignedLong(hexHash.substring(0, 16), 16);
+        long h2 = Long.parseUnsignedLong(hexHash.substring(16, 32), 16);
+        for (int i = 0; i < hashCount; i++) {
+            long index = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getBitCount() {
+        return bitCount;
+    }
+
+    public int getHashCount() {
+        return hashCount;
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.demo.util;
+
+import com.example.demo.lecture.repository.LectureRepository;
+import com.example.demo.like.LikeCounterStore;
+import com.example.demo.like.LikeTarget;
+import com.example.demo.like.repository.LikeRepository;
+import com.example.demo.review.repository.ReviewRepository;
+import com.example.demo.roadmap.repository.RoadmapGroupRepository;
+import com.example.demo.study.repository.StudyPostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * 강의/스터디글/로드맵의 좋아요, 리뷰 개수 카운터 컬럼 보정
+ * likes, reviews 테이블에서 실제 개수를 다시 세서 카운터와 다르면 맞춰줌
+ * 전체를 한 번에 읽지 않고 id 순서로 CHUNK_SIZE 개씩 끊어서 처리
+ * Redis 좋아요 카운터(LikeCounterStore)를 쓰는 경우 Redis 값도 같은 방식으로 likes 테이블 기준으로 보정
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CountReconciliationJob {
+    private static final int CHUNK_SIZE = 500;
+
+    private final LectureRepository lectureRepository;
+    private final StudyPostRepository studyPostRepository;
+    private final RoadmapGroupRepository roadmapGroupRepository;
+    private final LikeRepository likeRepository;
+    private final ReviewRepository reviewRepository;
+    private final LikeCounterStore likeCounterStore;
+
+    @Scheduled(cron = "${counter.reconcile-cron:0 0 4 * * *}") // 기본 매일 새벽 4시
+    public void reconcile() {
+        long start = System.currentTimeMillis();
+        long lectureLikes = reconcile(lectureRepository::findLikeCountsAfter, likeRepository::countLikesGroupByLecture, lectureRepository::fixLikeCount);
+        long lectureReviews = reconcile(lectureRepository::findReviewCountsAfter, reviewRepository::countReviewsGroupByLecture, lectureRepository::fixReviewCount);
+        long studyLikes = reconcile(studyPostRepository::findLikeCountsAfter, likeRepository::countLikesGroupByStudyPost, studyPostRepository::fixLikeCount);
+        long roadmapLikes = reconcile(roadmapGroupRepository::findLikeCountsAfter, likeRepository::countLikesGroupByRoadmapGroup, roadmapGroupRepository::fixLikeCount);
+        log.info("count reconcile - lecture likes: " + lectureLikes + ", lecture reviews: " + lectureReviews
+                + ", study likes: " + studyLikes + ", roadmap likes: " + roadmapLikes
+                + " fixed in " + (System.currentTimeMillis() - start) + "ms");
+    }
+
+    // 카운터 값 chunk 읽기 -> 같은 id 들에 대해 실제 개수 group by -> 다른 것만 보정, 보정된 row 수 반환
+    private long reconcile(BiFunction<Long, Integer, Map<Long, Integer>> counters,
+                           Function<Collection<Long>, Map<Long, Long>> actualCounts,
+                           CounterFix fix) {
+        long fixed = 0;
+        long lastId = 0L;
+        while (true) {
+            Map<Long, Integer> chunk = counters.apply(lastId, CHUNK_SIZE);
+            if (chunk.isEmpty())
+                break;
+
+            Map<Long, Long> actual = actualCounts.apply(chunk.keySet());
+            for (Map.Entry<Long, Integer> counter : chunk.entrySet()) {
+                int expected = counter.getValue() == null ? 0 : counter.getValue();
+                int count = actual.getOrDefault(counter.getKey(), 0L).intValue();
+                if (expected != count)
+                    fixed += fix.apply(counter.getKey(), expected, count);
+                lastId = counter.getKey();
+            }
+
+            if (chunk.size() < CHUNK_SIZE)
+                break;
+        }
+        return fixed;
+    }
+
+    @Scheduled(fixedDelayString = "${counter.redis-reconcile-ms:600000}", initialDelayString = "${counter.redis-reconcile-ms:600000}")
+    public void reconcileRedis() {
+        if (!likeCounterStore.isEnabled())
+            return;
+        long start = System.currentTimeMillis();
+        try {
+            long lectureLikes = reconcileRedis(LikeTarget.LECTURE, lectureRepository::findLikeCountsAfter, likeRepository::countLikesGroupByLecture);
+            long studyLikes = reconcileRedis(LikeTarget.STUDY_POST, studyPostRepository::findLikeCountsAfter, likeRepository::countLikesGroupByStudyPost);
+            long roadmapLikes = reconcileRedis(LikeTarget.ROADMAP_GROUP, roadmapGroupRepository::findLikeCountsAfter, likeRepository::countLikesGroupByRoadmapGroup);
+            log.info("redis like counter reconcile - lecture: " + lectureLikes + ", study: " + studyLikes + ", roadmap: " + roadmapLikes
+                    + " fixed in " + (System.currentTimeMillis() - start) + "ms");
+        } catch (DataAccessException e) {
+            log.warn("redis like counter reconcile failed - " + e.getMessage());
+        }
+    }
+
+    // id chunk -> 실제 개수 group by -> Redis 값 읽기(HMGET 한 번) -> 읽어둔 값에서 바뀌지 않은 field 만 차이만큼 보정
+    // 개수를 먼저 세야 Redis 를 읽은 시점에 이미 커밋된 토글이 실제 개수에 들어가 있음
+    // (읽은 뒤에 들어온 HINCRBY 는 값이 바뀌어서 건너뛰고 다음 보정 때 처리)
+    private long reconcileRedis(LikeTarget target, BiFunction<Long, Integer, Map<Long, Integer>> counters,
+                                Function<Collection<Long>, Map<Long, Long>> actualCounts) {
+        long fixed = 0;
+        long lastId = 0L;
+        while (true) {
+            Map<Long, Integer> chunk = counters.apply(lastId, CHUNK_SIZE);
+            if (chunk.isEmpty())
+                break;
+
+            List<Long> ids = new ArrayList<>(chunk.keySet());
+            Map<Long, Long> counted = actualCounts.apply(ids);
+            List<String> live = likeCounterStore.read(target, ids);
+            Map<Long, Integer> actual = new HashMap<>();
+            counted.forEach((id, count) -> actual.put(id, count.intValue()));
+
+            // Redis 에 아직 없는 field 는 조회할 때 DB 카운터 값으로 채워지므로 건드리지 않음
+            List<Long> present = new ArrayList<>();
+            List<String> expected = new ArrayList<>();
+            for (int i = 0; i < ids.size(); i++) {
+                if (live.get(i) != null) {
+                    present.add(ids.get(i));
+                    expected.add(live.get(i));
+                }
+            }
+            fixed += likeCounterStore.correct(target, present, expected, actual);
+            lastId = ids.get(ids.size() - 1);
+
+            if (chunk.size() < CHUNK_SIZE)
+                break;
+        }
+        return fixed;
+    }
+
+    @FunctionalInterface
+    private interface CounterFix {
+        long apply(Long id, int expected, int actual);
+    }
+}
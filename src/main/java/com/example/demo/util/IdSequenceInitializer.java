@@ -0,0 +1,55 @@
+package com.example.demo.util;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * pooled id 용 시퀀스 테이블(id_sequences) 준비
+ * IDENTITY 는 insert 마다 생성된 키를 받아야 해서 Hibernate 가 insert batch 를 못 함
+ * -> 대량 insert 가 있는 엔티티는 @TableGenerator(pooled, ALLOCATION_SIZE 개씩 미리 할당) 사용
+ *
+ * 기존 테이블에는 auto_increment 로 들어간 id 가 있으므로 시작 시 next_val 을 max(id) 뒤로 맞춤
+ * (웹 서버가 요청을 받기 전, 모든 싱글톤 생성 직후에 실행)
+ * 시퀀스를 쓰는 테이블은 JDBC 로 직접 insert 하면 안 됨 (auto_increment 값과 겹침)
+ */
+@Component
+@RequiredArgsConstructor
+public class IdSequenceInitializer implements SmartInitializingSingleton {
+    public static final String TABLE = "id_sequences";
+    public static final String PK_COLUMN = "sequence_name";
+    public static final String VALUE_COLUMN = "next_val";
+    public static final int ALLOCATION_SIZE = 50;
+
+    // 시퀀스 이름(@TableGenerator pkColumnValue) -> 테이블, id 컬럼
+    private static final String[][] SEQUENCES = {
+            {"roadmaps", "roadmaps", "roadmap_id"},
+            {"user_preference_hashtags", "user_preference_hashtags", "user_preference_tag_id"},
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        jdbcTemplate.execute("create table if not exists " + TABLE + " ("
+                + PK_COLUMN + " varchar(255) not null, " + VALUE_COLUMN + " bigint, primary key (" + PK_COLUMN + "))");
+        for (String[] sequence : SEQUENCES) {
+            align(sequence[0], sequence[1], sequence[2]);
+        }
+    }
+
+    // pooled optimizer 는 읽은 값에서 ALLOCATION_SIZE 만큼 앞쪽 구간을 쓸 수 있으므로 여유를 두고 max + ALLOCATION_SIZE + 1
+    private void align(String sequenceName, String table, String idColumn) {
+        try {
+            jdbcTemplate.update("insert into " + TABLE + " (" + PK_COLUMN + ", " + VALUE_COLUMN + ") "
+                    + "select ?, coalesce(max(" + idColumn + "), 0) + ? from " + table + " "
+                    + "on duplicate key update " + VALUE_COLUMN + " = greatest(" + VALUE_COLUMN + ", values(" + VALUE_COLUMN + "))",
+                    sequenceName, ALLOCATION_SIZE + 1);
+        } catch (DataAccessException e) {
+            // 맞추지 못한 채로 뜨면 Hibernate 가 초기값부터 id 를 나눠줘서 기존 row 와 PK 충돌 -> 시작 실패로 처리
+            throw new IllegalStateException("id sequence align failed - " + sequenceName, e);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.demo.util;
+
+import com.example.demo.lecture.repository.LectureRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 강의 별점 카운터(ratingSum, ratingCount, 별점별 개수)와 avgRate 전체 재계산
+ * 평소에는 리뷰 트랜잭션에서 차이만 반영하고, 여기서는 reviews group by 한 문장으로 전부 다시 맞춤
+ * - 관리자 요청 (POST /lectures/ratings/rebuild)
+ * - 시작 시 별점 카운터가 실제 reviews 의 개수/합계와 다른 강의가 있으면 (컬럼 추가 직후 포함) 자동 실행
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RatingRebuildJob {
+    private final LectureRepository lectureRepository;
+
+    @Transactional
+    public int rebuild() {
+        long start = System.currentTimeMillis();
+        long driftBefore = lectureRepository.countRatingDrift();
+        int lectures = lectureRepository.rebuildRatings();
+        log.info("rating rebuild - " + lectures + " lectures (" + driftBefore + " drifted) in "
+                + (System.currentTimeMillis() - start) + "ms");
+        return lectures;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfDrifted() {
+        if (lectureRepository.countRatingDrift() > 0)
+            rebuild();
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.demo.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.regex.Pattern;
+
+/**
+ * 목록 seek 페이징 위치 - 마지막으로 받은 항목의 (정렬 값, id)
+ * - 다음 페이지는 "(정렬 값, id) 가 이 위치보다 뒤" 조건으로 인덱스에서 바로 찾으므로 몇 번째 페이지든 비용이 같음 (offset 없음)
+ * - 클라이언트에는 "{sort}|{key}|{id}" 를 Base64(url-safe) 로 감싼 문자열만 전달 (형식에 의존하지 않도록)
+ * - 다른 정렬로 만든 cursor 나 숫자가 아닌 정렬 값을 넘기면 IllegalArgumentException
+ *   (트랜잭션 안에서 던지면 rollback-only 가 되므로 controller 에서 decode 한 뒤 서비스에 넘김)
+ */
+@Getter
+@AllArgsConstructor
+public class SeekCursor {
+    private static final Pattern NUMBER = Pattern.compile("-?\\d+(\\.\\d+)?"); // 정렬 값은 모두 숫자 (id, 개수, 별점)
+
+    private final String sort; // 정렬 이름 (소문자)
+    private final String key;  // 정렬 값 (id 순이면 id 와 같음)
+    private final long id;
+
+    public static SeekCursor of(String sort, Object key, long id) {
+        return new SeekCursor(sort, String.valueOf(key), id);
+    }
+
+    // 비어있으면 null (첫 페이지)
+    public static SeekCursor decode(String token, String expectedSort) {
+        if (token == null || token.isBlank())
+            return null;
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("잘못된 cursor 형식: " + token);
+        }
+        String[] split = decoded.split("\\|");
+        if (split.length != 3 || !split[0].equals(expectedSort) || !NUMBER.matcher(split[1]).matches())
+            throw new IllegalArgumentException("잘못된 cursor 형식: " + token);
+        return new SeekCursor(split[0], split[1], Long.parseLong(split[2]));
+    }
+
+    public String encode() {
+        String raw = sort + "|" + key + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // decode 에서 숫자인지만 확인하므로 소수점이 있어도 예외 없이 정수로
+    public long longKey() {
+        return new BigDecimal(key).longValue();
+    }
+
+    public int intKey() {
+        return new BigDecimal(key).intValue();
+    }
+
+    public double doubleKey() {
+        return Double.parseDouble(key);
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.demo.util;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 같은 강의를 가리키는 url 을 하나의 문자열로 맞춤
+ * - scheme, host 소문자 / http -> https / www., m. 제거 / 기본 포트 제거
+ * - fragment(#...) 제거, path 끝의 / 제거
+ * - 추적용 query(utm_*, fbclid 등) 제거, 남은 query 는 이름순 정렬
+ *   ref, si 처럼 흔한 이름은 사이트에 따라 실제 값일 수 있으므로 추적용으로 알려진 사이트에서만 제거 (HOST_TRACKING_PARAMS)
+ * - 유튜브: youtu.be/ID, /embed/ID, /shorts/ID -> youtube.com/watch?v=ID, query 는 v, list 만 남김 (si, feature 등도 여기서 빠짐)
+ */
+public class UrlCanonicalizer {
+
+    private static final Set<String> TRACKING_PARAMS = new HashSet<>(Arrays.asList(
+            "fbclid", "gclid", "dclid", "msclkid", "igshid", "mc_cid", "mc_eid", "_ga"));
+    // 사이트별 추적용 query (www., m. 을 뗀 host 기준, 이름은 소문자)
+    private static final Map<String, Set<String>> HOST_TRACKING_PARAMS = new HashMap<>();
+    static {
+        HOST_TRACKING_PARAMS.put("udemy.com", new HashSet<>(Arrays.asList("ranmid", "raneaid", "ransiteid", "lsnpubid", "referralcode")));
+    }
+    private static final Set<String> YOUTUBE_PARAMS = new HashSet<>(Arrays.asList("v", "list"));
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private UrlCanonicalizer() {
+    }
+
+    public static String canonicalize(String url) {
+        if (url == null) {
+            return null;
+        }
+        String trimmed = url.trim();
+        try {
+            URI uri = new URI(trimmed);
+            if (uri.getHost() == null) {
+                return trimmed;
+            }
+            String scheme = uri.getScheme() == null ? "https" : uri.getScheme().toLowerCase(Locale.ROOT);
+            String host = uri.getHost().toLowerCase(Locale.ROOT);
+            if (host.startsWith("www.")) {
+                host = host.substring(4);
+            } else if (host.startsWith("m.")) { // 모바일 페이지 (m.youtube.com 등)
+                host = host.substring(2);
+            }
+            int port = uri.getPort();
+            boolean defaultPort = port == -1 || (port == 80 && scheme.equals("http")) || (port == 443 && scheme.equals("https"));
+
+            String path = uri.getRawPath() == null ? "" : uri.getRawPath();
+            while (path.endsWith("/")) {
+                path = path.substring(0, path.length() - 1);
+            }
+            List<String> params = queryParams(uri.getRawQuery());
+
+            if (host.equals("youtu.be") || host.equals("youtube.com")) {
+                String videoId = youtubeVideoId(host, path);
+                host = "youtube.com";
+                if (videoId != null) {
+                    path = "/watch";
+                    params.removeIf(param -> paramName(param).equals("v"));
+                    params.add("v=" + videoId);
+                }
+                params.removeIf(param -> !YOUTUBE_PARAMS.contains(paramName(param)));
+            }
+            Set<String> hostTracking = HOST_TRACKING_PARAMS.getOrDefault(host, Collections.emptySet());
+            params.removeIf(param -> isTracking(paramName(param)) || hostTracking.contains(paramName(param)));
+            params.sort(null);
+
+            if (defaultPort && scheme.equals("http")) { // 강의 사이트들은 모두 https 로 redirect 됨
+                scheme = "https";
+            }
+
+            StringBuilder canonical = new StringBuilder(scheme).append("://").append(host);
+            if (!defaultPort) {
+                canonical.append(':').append(port);
+            }
+            canonical.append(path);
+            if (!params.isEmpty()) {
+                canonical.append('?').append(String.join("&", params));
+            }
+            return canonical.toString();
+        } catch (URISyntaxException e) {
+            return trimmed;
+        }
+    }
+
+    // 정규화한 url 의 SHA-256 (hex 64자) - 강의/요청 강의 중복 조회용 인덱스 컬럼 값
+    public static String canonicalHash(String url) {
+        String canonical = canonicalize(url);
+        if (canonical == null) {
+            return null;
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+            char[] hex = new char[digest.length * 2];
+            for (int i = 0; i < digest.length; i++) {
+                hex[i * 2] = HEX[(digest[i] >> 4) & 0xf];
+                hex[i * 2 + 1] = HEX[digest[i] & 0xf];
+            }
+            return new String(hex);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // 모든 JVM 에 SHA-256 이 있음
+        }
+    }
+
+    // youtu.be/ID, youtube.com/embed/ID, youtube.com/shorts/ID 의 ID (watch?v= 형식이면 null)
+    private static String youtubeVideoId(String host, String path) {
+        String[] segments = path.split("/");
+        if (host.equals("youtu.be")) {
+            return segments.length > 1 && !segments[1].isEmpty() ? segments[1] : null;
+        }
+        if (segments.length > 2 && (segments[1].equals("embed") || segments[1].equals("shorts"))) {
+            return segments[2];
+        }
+        return null;
+    }
+
+    private static List<String> queryParams(String rawQuery) {
+        List<String> params = new ArrayList<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return params;
+        }
+        for (String param : rawQuery.split("&")) {
+            if (!param.isEmpty()) {
+                params.add(param);
+            }
+        }
+        return params;
+    }
+
+    private static String paramName(String param) {
+        int index = param.indexOf('=');
+        return (index < 0 ? param : param.substring(0, index)).toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isTracking(String name) {
+        return name.startsWith("utm_") || TRACKING_PARAMS.contains(name);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.demo.util.crawl;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 사이트(host) 별 크롤링 상태 스냅샷 - /crawler/status 응답용
+ */
+@Getter
+@AllArgsConstructor
+public class CrawlHostStats {
+    private String host;
+    private int queued;        // 대기 중인 크롤링 작업 수
+    private int inFlight;      // 실행 중인 크롤링 작업 수
+    private long completed;    // 끝난 작업 수 (성공/실패 포함)
+    private long retried;      // 일시적 오류로 재시도한 요청 수
+    private long failed;       // 재시도까지 실패한 요청 수
+    private long rejected;     // 대기열이 가득 차서 거절된 작업 수
+}
@@ -0,0 +1,113 @@
+package com.example.demo.util.crawl;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 크롤러 HTTP 응답 캐시 (여러 강의 크롤링에서 같이 쓰는 목록 페이지 등)
+ * - TTL 안이면 요청 없이 캐시 사용
+ * - TTL 이 지났어도 ETag/Last-Modified 가 있으면 조건부 GET 으로 재검증 (304 면 본문 재사용)
+ * - 전체 본문 크기 합이 maxBytes 를 넘으면 가장 오래 안 쓴 것부터 제거 (LRU)
+ */
+@Component
+public class CrawlHttpCache {
+
+    @Getter
+    @AllArgsConstructor
+    public static class Entry {
+        private final String body;
+        private final String etag;
+        private final String lastModified;
+        private final long fetchedAt;
+
+        public boolean hasValidator() {
+            return etag != null || lastModified != null;
+        }
+    }
+
+    private final long ttlMs;
+    private final long maxBytes;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true); // 접근 순서
+    private long totalBytes;
+
+    private long hits;
+    private long revalidated;
+    private long misses;
+    private long evictions;
+
+    public CrawlHttpCache(@Value("${crawler.cache.ttl-ms:600000}") long ttlMs,
+                          @Value("${crawler.cache.max-bytes:20971520}") long maxBytes) {
+        this.ttlMs = ttlMs;
+        this.maxBytes = maxBytes;
+    }
+
+    // TTL 안의 캐시면 반환 (hit 집계), 아니면 null
+    public synchronized Entry getFresh(String url) {
+        Entry entry = entries.get(url);
+        if (entry != null && System.currentTimeMillis() - entry.fetchedAt < ttlMs) {
+            hits++;
+            return entry;
+        }
+        return null;
+    }
+
+    // TTL 이 지났더라도 조건부 GET 에 쓸 이전 응답
+    public synchronized Entry getStale(String url) {
+        return entries.get(url);
+    }
+
+    public synchronized void put(String url, String body, String etag, String lastModified) {
+        misses++;
+        long size = sizeOf(body);
+        Entry old = entries.remove(url);
+        if (old != null) {
+            totalBytes -= sizeOf(old.body);
+        }
+        if (size > maxBytes) { // 한 건이 한도보다 크면 저장하지 않음
+            return;
+        }
+        entries.put(url, new Entry(body, etag, lastModified, System.currentTimeMillis()));
+        totalBytes += size;
+        evictIfNeeded();
+    }
+
+    // 304 Not Modified - 본문은 그대로 두고 TTL 만 갱신
+    public synchronized Entry touch(String url, Entry entry) {
+        revalidated++;
+        Entry refreshed = new Entry(entry.body, entry.etag, entry.lastModified, System.currentTimeMillis());
+        if (entries.containsKey(url)) {
+            entries.put(url, refreshed);
+        }
+        return refreshed;
+    }
+
+    public synchronized Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("entries", (long) entries.size());
+        stats.put("bytes", totalBytes);
+        stats.put("hits", hits);
+        stats.put("revalidated", revalidated);
+        stats.put("misses", misses);
+        stats.put("evictions", evictions);
+        return stats;
+    }
+
+    private void evictIfNeeded() {
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && it.hasNext()) {
+            totalBytes -= sizeOf(it.next().getValue().body);
+            it.remove();
+            evictions++;
+        }
+    }
+
+    private long sizeOf(String body) {
+        return body.length() * 2L; // char 기준 대략적인 메모리 크기
+    }
+}
@@ -0,0 +1,351 @@
+package com.example.demo.util.crawl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jsoup.Connection;
+import org.jsoup.HttpStatusException;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 크롤링 전용 스케줄러
+ * - 공용 AsyncConfig 풀 대신 크롤링 전용 고정 크기 풀에서 실행
+ * - 사이트(host) 별 동시 실행 수 제한 + 같은 사이트 HTTP 요청 사이 최소 간격 유지 (재시도, 한 작업 안의 여러 요청 포함)
+ * - 대기 작업은 host 별 큐에 쌓아두고, 실행 가능한 것만 풀에 넘김 (느린 사이트가 풀 전체를 잡지 않도록)
+ * - 타임아웃, 연결 실패/끊김, 5xx, 429 같은 일시적 오류만 지수 백오프로 재시도
+ * - 여러 크롤링에서 공통으로 쓰는 페이지는 getCached() 로 HTTP 캐시를 거쳐서 가져옴
+ * - og 메타 태그만 필요한 사이트는 getHead() 로 </head> 까지만 받아서 파싱
+ */
+@Slf4j
+@Component
+public class CrawlScheduler {
+
+    @FunctionalInterface
+    private interface Fetch<T> {
+        T get() throws IOException;
+    }
+
+    private static final String HEAD_END = "</head>";
+
+    private final int maxConcurrentPerHost;
+    private final long minDelayMs;
+    private final int maxQueuedPerHost;
+    private final int maxAttempts;
+    private final long backoffMs;
+    private final int timeoutMs;
+    private final int headMaxBytes;
+
+    private final CrawlHttpCache httpCache;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService timer;
+    private final ConcurrentMap<String, HostState> hosts = new ConcurrentHashMap<>();
+
+    public CrawlScheduler(CrawlHttpCache httpCache,
+                          @Value("${crawler.pool-size:4}") int poolSize,
+                          @Value("${crawler.max-concurrent-per-host:2}") int maxConcurrentPerHost,
+                          @Value("${crawler.min-delay-ms:1000}") long minDelayMs,
+                          @Value("${crawler.max-queued-per-host:100}") int maxQueuedPerHost,
+                          @Value("${crawler.max-attempts:3}") int maxAttempts,
+                          @Value("${crawler.backoff-ms:500}") long backoffMs,
+                          @Value("${crawler.timeout-ms:10000}") int timeoutMs,
+                          @Value("${crawler.head-max-bytes:262144}") int headMaxBytes) {
+        this.httpCache = httpCache;
+        this.maxConcurrentPerHost = maxConcurrentPerHost;
+        this.minDelayMs = minDelayMs;
+        this.maxQueuedPerHost = maxQueuedPerHost;
+        this.maxAttempts = maxAttempts;
+        this.backoffMs = backoffMs;
+        this.timeoutMs = timeoutMs;
+        this.headMaxBytes = headMaxBytes;
+
+        AtomicInteger threadNo = new AtomicInteger();
+        // host 별 큐에서 실행 가능한 것만 넘어오므로 풀 큐는 작게 유지
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(poolSize * 2),
+                r -> new Thread(r, "crawl-task-" + threadNo.incrementAndGet()));
+        this.timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "crawl-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * url 의 host 큐에 크롤링 작업 등록
+     * host 큐가 가득 찼으면 false 반환 (작업은 실행되지 않음)
+     */
+    public boolean submit(String url, Runnable job) {
+        HostState state = hosts.computeIfAbsent(hostOf(url), HostState::new);
+        synchronized (state) {
+            if (state.queue.size() >= maxQueuedPerHost) {
+                state.rejected.incrementAndGet();
+                log.warn("crawl queue full - " + state.host);
+                return false;
+            }
+            state.queue.addLast(job);
+        }
+        drain(state);
+        return true;
+    }
+
+    /**
+     * 페이지 GET (타임아웃 + 재시도 적용)
+     * 크롤링 작업 안(host 슬롯을 잡고 있는 상태)에서 호출
+     */
+    public Document get(String url) throws IOException {
+        return withRetry(url, () -> Jsoup.connect(url).timeout(timeoutMs).get());
+    }
+
+    public Document get(String url, String userAgent) throws IOException {
+        return withRetry(url, () -> Jsoup.connect(url).userAgent(userAgent).timeout(timeoutMs).get());
+    }
+
+    /**
+     * <head> 만 필요한 경우의 GET
+     * 응답을 스트림으로 읽다가 </head> 가 나오면 연결을 끊고 그때까지만 파싱 (최대 headMaxBytes)
+     * 반환된 Document 의 body 는 비어 있음
+     */
+    public Document getHead(String url) throws IOException {
+        return withRetry(url, () -> {
+            Connection.Response response = Jsoup.connect(url)
+                    .timeout(timeoutMs)
+                    .maxBodySize(headMaxBytes)
+                    .execute();
+            String charset = response.charset() != null ? response.charset() : "UTF-8";
+            StringBuilder html = new StringBuilder();
+            char[] buffer = new char[8192];
+            try (Reader reader = new InputStreamReader(response.bodyStream(), Charset.forName(charset))) {
+                int read;
+                while ((read = reader.read(buffer)) != -1) {
+                    int from = Math.max(0, html.length() - HEAD_END.length());
+                    html.append(buffer, 0, read);
+                    int end = html.substring(from).toLowerCase(Locale.ROOT).indexOf(HEAD_END);
+                    if (end >= 0) {
+                        html.setLength(from + end + HEAD_END.length());
+                        break;
+                    }
+                }
+            }
+            return Jsoup.parse(html.toString(), url);
+        });
+    }
+
+    /**
+     * 캐시를 거치는 GET - 강의마다 반복해서 받는 목록 페이지 등에 사용
+     * TTL 안이면 요청하지 않고, 지났으면 ETag/Last-Modified 로 조건부 GET
+     */
+    public Document getCached(String url) throws IOException {
+        CrawlHttpCache.Entry fresh = httpCache.getFresh(url);
+        if (fresh != null) {
+            return Jsoup.parse(fresh.getBody(), url);
+        }
+
+        CrawlHttpCache.Entry stale = httpCache.getStale(url);
+        Connection.Response response = withRetry(url, () -> {
+            Connection connection = Jsoup.connect(url).timeout(timeoutMs).ignoreHttpErrors(true);
+            if (stale != null && stale.getEtag() != null) {
+                connection.header("If-None-Match", stale.getEtag());
+            }
+            if (stale != null && stale.getLastModified() != null) {
+                connection.header("If-Modified-Since", stale.getLastModified());
+            }
+            Connection.Response res = connection.execute();
+            if (res.statusCode() >= 400) { // ignoreHttpErrors 로 받았으므로 재시도 판단을 위해 다시 예외로
+                throw new HttpStatusException("HTTP error fetching URL", res.statusCode(), url);
+            }
+            return res;
+        });
+
+        if (response.statusCode() == 304 && stale != null) {
+            return Jsoup.parse(httpCache.touch(url, stale).getBody(), url);
+        }
+        String body = response.body();
+        httpCache.put(url, body, response.header("ETag"), response.header("Last-Modified"));
+        return Jsoup.parse(body, url);
+    }
+
+    public Map<String, Long> getCacheStats() {
+        return httpCache.getStats();
+    }
+
+    // 일시적 오류면 backoffMs * 2^n 만큼 기다렸다가 최대 maxAttempts 번까지 시도
+    // 매 시도 전에 같은 host 의 이전 요청과 minDelayMs 간격을 맞춤
+    private <T> T withRetry(String url, Fetch<T> fetch) throws IOException {
+        HostState state = hosts.computeIfAbsent(hostOf(url), HostState::new);
+        for (int attempt = 1; ; attempt++) {
+            awaitRequestSlot(state);
+            try {
+                return fetch.get();
+            } catch (IOException e) {
+                if (attempt >= maxAttempts || !isTransient(e)) {
+                    state.failed.incrementAndGet();
+                    throw e;
+                }
+                state.retried.incrementAndGet();
+                long wait = backoffMs << (attempt - 1);
+                log.info("crawl retry " + attempt + " - " + url + " after " + wait + "ms (" + e + ")");
+                try {
+                    Thread.sleep(wait);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    // host 의 다음 요청 시각을 예약하고 그때까지 대기 (동시에 실행 중인 작업끼리도 간격 유지)
+    private void awaitRequestSlot(HostState state) throws IOException {
+        long wait;
+        synchronized (state) {
+            long now = System.currentTimeMillis();
+            long at = Math.max(now, state.nextRequestAt);
+            state.nextRequestAt = at + minDelayMs;
+            wait = at - now;
+        }
+        if (wait <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(wait);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while waiting for crawl delay - " + state.host);
+        }
+    }
+
+    public List<CrawlHostStats> getStats() {
+        List<CrawlHostStats> stats = new ArrayList<>();
+        for (HostState state : hosts.values()) {
+            synchronized (state) {
+                stats.add(new CrawlHostStats(state.host, state.queue.size(), state.inFlight,
+                        state.completed.get(), state.retried.get(), state.failed.get(), state.rejected.get()));
+            }
+        }
+        return stats;
+    }
+
+    // 동시 실행 수, 최소 간격 조건을 만족하는 만큼 host 큐에서 꺼내 풀에 넘김
+    // (작업 시작 간격은 풀 스레드가 요청 간격을 기다리며 잡혀 있지 않게 하기 위함, 실제 요청 간격은 awaitRequestSlot)
+    private void drain(HostState state) {
+        synchronized (state) {
+            while (state.inFlight < maxConcurrentPerHost && !state.queue.isEmpty()) {
+                long wait = state.nextStartAt - System.currentTimeMillis();
+                if (wait > 0) {
+                    scheduleDrain(state, wait);
+                    return;
+                }
+                Runnable job = state.queue.pollFirst();
+                try {
+                    executor.execute(() -> run(state, job));
+                } catch (RejectedExecutionException e) {
+                    // 풀이 가득 찬 경우 다시 큐 앞에 넣고 잠시 후 재시도
+                    state.queue.addFirst(job);
+                    scheduleDrain(state, minDelayMs);
+                    return;
+                }
+                state.inFlight++;
+                state.nextStartAt = System.currentTimeMillis() + minDelayMs;
+            }
+        }
+    }
+
+    private void run(HostState state, Runnable job) {
+        try {
+            job.run();
+        } catch (Exception e) {
+            log.error("crawl job failed - " + state.host, e);
+        } finally {
+            synchronized (state) {
+                state.inFlight--;
+            }
+            state.completed.incrementAndGet();
+            drain(state);
+        }
+    }
+
+    // state lock 안에서 호출
+    private void scheduleDrain(HostState state, long delayMs) {
+        if (state.drainScheduled) {
+            return;
+        }
+        state.drainScheduled = true;
+        timer.schedule(() -> {
+            synchronized (state) {
+                state.drainScheduled = false;
+            }
+            drain(state);
+        }, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private boolean isTransient(IOException e) {
+        if (e instanceof HttpStatusException) {
+            int status = ((HttpStatusException) e).getStatusCode();
+            return status == 429 || status >= 500;
+        }
+        // 타임아웃, 연결 실패/끊김(ConnectException, connection reset 등)만 일시적 오류
+        // 4xx, UnsupportedMimeTypeException, UnknownHostException, SSL 오류 등은 다시 해도 같으므로 바로 실패
+        return e instanceof SocketTimeoutException || e instanceof SocketException;
+    }
+
+    private String hostOf(String url) {
+        try {
+            String host = URI.create(url.trim()).getHost();
+            if (host != null) {
+                return host.toLowerCase(Locale.ROOT);
+            }
+        } catch (IllegalArgumentException ignored) {
+        }
+        return "unknown";
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+        executor.shutdown();
+    }
+
+    private static class HostState {
+        private final String host;
+        private final Deque<Runnable> queue = new ArrayDeque<>();
+        private int inFlight;
+        private long nextStartAt;
+        private long nextRequestAt;
+        private boolean drainScheduled;
+        private final AtomicLong completed = new AtomicLong();
+        private final AtomicLong retried = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+
+        private HostState(String host) {
+            this.host = host;
+        }
+    }
+}
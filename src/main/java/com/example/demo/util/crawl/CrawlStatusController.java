@@ -0,0 +1,31 @@
+package com.example.demo.util.crawl;
+
+import com.example.demo.dto.ResponseMessage;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Api(tags = {"크롤러 상태 API"})
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/crawler")
+public class CrawlStatusController {
+    private final CrawlScheduler crawlScheduler;
+
+    @ApiOperation(value = "사이트별 크롤링 대기/실행 중인 작업 수, 재시도/실패 수 조회")
+    @GetMapping("/status")
+    public ResponseEntity<ResponseMessage> getStatus() {
+        return new ResponseEntity<>(ResponseMessage.withData(200, "크롤러 상태가 조회되었습니다", crawlScheduler.getStats()), HttpStatus.OK);
+    }
+
+    @ApiOperation(value = "크롤러 HTTP 캐시 hit/miss/재검증 수 조회")
+    @GetMapping("/cache")
+    public ResponseEntity<ResponseMessage> getCacheStatus() {
+        return new ResponseEntity<>(ResponseMessage.withData(200, "크롤러 캐시 상태가 조회되었습니다", crawlScheduler.getCacheStats()), HttpStatus.OK);
+    }
+}
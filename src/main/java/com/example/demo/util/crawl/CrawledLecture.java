@@ -0,0 +1,32 @@
+package com.example.demo.util.crawl;
+
+import com.example.demo.lecture.Lecture;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * 강의 페이지에서 뽑아낸 정보 (네트워크, DB 와 무관한 파싱 결과)
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class CrawledLecture {
+    private String lectureTitle;
+    private String lecturer;
+    private String thumbnailUrl;
+    private String siteName;
+    private List<String> hashtags;
+
+    public Lecture toLecture(String url) {
+        return Lecture.builder()
+                .lecturer(lecturer)
+                .lectureUrl(url)
+                .lectureTitle(lectureTitle)
+                .thumbnailUrl(thumbnailUrl)
+                .siteName(siteName)
+                .build();
+    }
+}
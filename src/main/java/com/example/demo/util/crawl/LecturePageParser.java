@@ -0,0 +1,262 @@
+package com.example.demo.util.crawl;
+
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 사이트별 강의 페이지 파싱 (Crawler 에서 네트워크 요청과 분리)
+ * Document 만 받아서 CrawledLecture 를 만들기 때문에 저장해둔 html 로도 그대로 실행 가능
+ * 필요한 태그가 없으면 NullPointerException 등이 그대로 던져짐 -> Crawler 에서 error 처리
+ */
+public class LecturePageParser {
+
+    @FunctionalInterface
+    public interface HashtagFinder {
+        // text 에 포함된 해시태그를 최대 needCount 개
+        List<String> find(String text, int needCount);
+    }
+
+    public static final String NOMADCODERS_COURSES_URL = "https://nomadcoders.co/courses";
+
+    private final HashtagFinder hashtagFinder;
+
+    public LecturePageParser(HashtagFinder hashtagFinder) {
+        this.hashtagFinder = hashtagFinder;
+    }
+
+    public CrawledLecture inflearn(Document document) {
+        List<String> hashtags = new ArrayList<>();
+
+        String img = document.selectFirst("div.cd-header__thumbnail img").attr("src");
+        String title = document.selectFirst("div.cd-header__title").text();
+        String lecturer = document.selectFirst("a.cd-header__instructors--main").text();
+
+        Elements elements = document.select("a.cd-header__tag");
+        for (Element e : elements) {
+            String tag = e.text();
+            hashtags.add(tag);
+        }
+        return new CrawledLecture(title, lecturer, img, "인프런", hashtags);
+    }
+
+    public CrawledLecture youtube(Document document) {
+        List<String> tags = new ArrayList<>();
+        Element body = document.body();
+
+        String title = document.head().selectFirst("meta[property=og:title]").attr("content");
+        String content = document.head().selectFirst("meta[property=og:description]").attr("content");
+        String lecturer = body.selectFirst("div#watch7-content link[itemprop=name]").attr("content");
+        String img = document.head().selectFirst("meta[property=og:image]").attr("content");
+
+        if (title.contains("#")) {
+            String[] split = title.split("#");
+            //0번 idx 이후부터는 전부 다 해시태그임
+            for (int i = 1; i < split.length; i++) {
+                String replace = split[i].replace(" ", "");
+                tags.add(replace);
+                if (tags.size() == 3)
+                    break;
+            }
+        }
+
+        if (tags.size() < 3) {
+            List<String> hashtagsInTitle = hashtagFinder.find(title, 5);
+            tags.addAll(hashtagsInTitle.stream()
+                    .filter(h -> !tags.contains(h))
+                    .limit(3 - tags.size())
+                    .collect(Collectors.toList()));
+        }
+
+        if (tags.size() < 3) {
+            List<String> hashtagsInTitle = hashtagFinder.find(content, 5);
+            tags.addAll(hashtagsInTitle.stream()
+                    .filter(h -> !tags.contains(h))
+                    .limit(3 - tags.size())
+                    .collect(Collectors.toList()));
+        }
+        return new CrawledLecture(title, lecturer, img, "유튜브", tags);
+    }
+
+    // base: 노마드코더 강의 목록 페이지 (썸네일은 목록에만 있음)
+    public CrawledLecture nomadcoders(Document document, Document base, String url) {
+        String lecturer = "니꼴라스";
+        String siteName = "노마드코더";
+        String imgUrl = null;
+        List<String> tags = new ArrayList<>();
+
+        String title = document.head().selectFirst("meta[property=og:title]").attr("content");
+        String[] split = title.split("노마드 코더");
+        title = split[0].substring(0, split[0].length() - 3);
+        String content = document.head().selectFirst("meta[property=og:description]").attr("content");
+        Elements div = base.select("div.sc-7257b669-0.kKJInu.flex.flex-col.relative.rounded-lg.items-center");
+
+        String[] split1 = url.split("/");
+        String last = split1[split1.length - 1];
+
+        for (Element e : div) {
+            if (e.selectFirst("a").attr("href").contains(last)) {
+                Elements img = e.getElementsByTag("img");
+                imgUrl = "https://nomadcoders.co" + img.get(1).attr("src");
+                break;
+            }
+        }
+
+        if (content.contains(",")) {
+            Arrays.stream(content.split(","))
+                    .limit(3)
+                    .forEach(t -> tags.add(t.replace(" ", "")));
+        } else if (content.contains("+")) {
+            Arrays.stream(content.split("\\+"))
+                    .limit(3)
+                    .forEach(t -> tags.add(t.replace(" ", "")));
+        } else {
+            tags.addAll(hashtagFinder.find(title, 3));  //제목에서도 찾고
+            if (tags.size() < 3) {
+                tags.addAll(hashtagFinder.find(content, 10)
+                        .stream()
+                        .filter(h -> !tags.contains(h))
+                        .limit(3 - tags.size())
+                        .collect(Collectors.toList()));
+            }
+        }
+        return new CrawledLecture(title, lecturer, imgUrl, siteName, tags);
+    }
+
+    public CrawledLecture spartaCoding(Document document) {
+        String siteName = "스파르타코딩클럽";
+        String lecturer = "스파르타코딩클럽";
+
+        String keywords = document.head().selectFirst("meta[name=keywords]").attr("content");
+        //keywords 가 null 이라면? description 가져오기
+        if (keywords.length() < 1) {
+            keywords = document.head().selectFirst("meta[property=og:description]").attr("content");
+        }
+
+        List<String> hashtags = hashtagFinder.find(keywords, 3);
+
+        String title = document.head().selectFirst("title").text();
+        String[] split = title.split("\\|");
+        title = split[1].replaceFirst(" ", "");
+
+        String imageUrl = document.head().selectFirst("meta[property=og:image]").attr("content");
+        String img = "https://spartacodingclub.kr" + imageUrl;
+
+        return new CrawledLecture(title, lecturer, img, siteName, hashtags);
+    }
+
+    public CrawledLecture projectlion(Document document) {
+        String title = document.head().selectFirst("meta[property=og:title]").attr("content");
+        String image = document.head().selectFirst("meta[property=og:image]").attr("content");
+        String desc = document.head().selectFirst("meta[property=og:description]").attr("content");
+
+        String lecturer = "프로젝트 라이언";
+        String siteName = "Project lion";
+
+        /**
+         * 이거 갑자기 입문 왜안나오는지 확인 필요
+            - UX/ UI 입문자를 위한 UX Discovery 인 경우에 R / ux / ui 가 나옴
+            - 순서대로 나와서 자르다보니까 '입문' 이 나머지 3개보다 뒷번호라서 안나옴
+            -> 그 강의를 잘 설명하는 해시태그가 안나올 수 있다는 한계점 아주..아주..
+         */
+        // 제목에서 해시태그 추출
+        List<String> hashtags = hashtagFinder.find(title, 3);
+
+        // 제목추출 이후 description 에서 채움
+        if (hashtags.size() < 3) {
+            List<String> hashtagsInDesc = hashtagFinder.find(desc, 3 - hashtags.size());
+            hashtags.addAll(hashtagsInDesc);
+        }
+        return new CrawledLecture(title, lecturer, image, siteName, hashtags);
+    }
+
+    public CrawledLecture udemy(Document document) {
+        String siteName = "udemy";
+
+        String title = document.head().selectFirst("meta[name=title]").attr("content");
+        String image = document.head().selectFirst("meta[property=og:image]").attr("content");
+        String lecturer = document
+                .selectFirst("a.udlite-btn.udlite-btn-large.udlite-btn-link.udlite-heading-md.udlite-text-sm.udlite-instructor-links span")
+                .text();
+
+        // 총 해시태그 담는 곳
+        // 제목에서 해시태그 추출
+        List<String> hashtags = hashtagFinder.find(title, 3);
+
+        //클린코드 자바스크립트인 경우 -> 자바, 자바 스크립트 출력
+
+        // 제목에 3개 없으면 카테고리에서 추출
+        /**
+         * 개발 > 웹 개발 > JavaScript
+         * 이런식으로 되어있어서 소분류부터 거꾸로 넣었는데 괜찮은가요..
+         */
+        if (hashtags.size() < 3) {
+            Elements elements = document.select("a.udlite-heading-sm");
+            for (int i = elements.size() - 1; i >= 0; i--) {
+                if (hashtags.size() >= 3)
+                    break;
+                String tag = elements.get(i).text();
+
+                // hashtags에 없는 경우에만 담기
+                if (!hashtags.contains(tag))
+                    hashtags.add(tag);
+            }
+        }
+        return new CrawledLecture(title, lecturer, image, siteName, hashtags);
+    }
+
+    public CrawledLecture fastcampus(Document document) {
+        String lecturer = "패스트 캠퍼스";
+        String siteName = "패스트캠퍼스";
+
+        String title = document.head().selectFirst("meta[property=og:title]").attr("content");
+        int index = title.indexOf("|");
+        String finalTitle = title.substring(1, index - 1);
+        String image = document.selectFirst("p.container__text-content.fc-h1-text").selectFirst("img").attr("src");
+        String desc = document.head().selectFirst("meta[name=description]").attr("content");
+
+        // 제목 추출
+        List<String> hashtags = hashtagFinder.find(title, 3);
+
+        // 제목추출 이후 description 에서 채움
+        if (hashtags.size() < 3) {
+            List<String> hashtagsInDesc = hashtagFinder.find(desc, 3 - hashtags.size());
+            hashtags.addAll(hashtagsInDesc);
+        }
+        return new CrawledLecture(finalTitle, lecturer, image, siteName, hashtags);
+    }
+
+    // document: 강의 url 의 상위(목록) 페이지
+    public CrawledLecture codingEverybody(Document document) {
+        String lecturer = "egoing";
+        String img = "";
+        String siteName = "생활코딩";
+
+        String title = document.head().selectFirst("meta[property=og:title]").attr("content");
+        String finalTitle = title.substring(0, title.length() - 7);
+
+        // 총 해시태그 담는 곳
+        List<String> hashtags = hashtagFinder.find(title, 3);
+
+        // 토픽목록에서 추출
+        if (hashtags.size() < 3) {
+            Elements elements = document.select("div.label");
+
+            for (Element e : elements) {
+                if (hashtags.size() < 3) {
+                    String keyword = e.selectFirst("a").selectFirst("span").text();
+                    if (keyword != "") {
+                        hashtags.addAll(hashtagFinder.find(keyword, 3 - hashtags.size()));
+                    }
+                } else
+                    break;
+            }
+        }
+        return new CrawledLecture(finalTitle, lecturer, img, siteName, hashtags);
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.demo.search;
+
+import com.example.demo.dto.ResponseMessage;
+import com.example.demo.search.dto.SearchHitResponse;
+import com.example.demo.search.dto.SearchResultResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchIndexServiceTest {
+
+    @TempDir
+    Path indexDir;
+
+    private SearchIndexService searchIndexService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // 저장소는 빈 인덱스 전체 색인(buildIndexIfEmpty)에서만 쓰므로 null
+        searchIndexService = new SearchIndexService(null, null, null, indexDir.toString(), 2, 60_000);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        searchIndexService.close();
+    }
+
+    @Test
+    void titleMatchRanksAboveContentMatch() throws IOException {
+        searchIndexService.onIndexEvent(SearchIndexEvent.ofLecture(1L, "자바 입문", "스프링 강사", "인프런"));
+        searchIndexService.onIndexEvent(SearchIndexEvent.ofLecture(2L, "스프링 핵심 원리", "김영한", "인프런"));
+        searchIndexService.onIndexEvent(SearchIndexEvent.ofLecture(3L, "파이썬 기초", "강사", "유튜브"));
+        searchIndexService.refresh();
+
+        SearchResultResponse result = searchIndexService.search("스프링을", null, 0, 10);
+
+        assertThat(result.getTotalCount()).isEqualTo(2);
+        assertThat(result.getHits()).extracting(SearchHitResponse::getId).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void updatesAndRemovesDocumentsByKey() throws IOException {
+        searchIndexService.onIndexEvent(SearchIndexEvent.ofLecture(1L, "스프링 입문", "강사", "인프런"));
+        searchIndexService.onIndexEvent(SearchIndexEvent.ofLecture(1L, "스프링 부트", "강사", "인프런"));
+        searchIndexService.onIndexEvent(SearchIndexEvent.ofLecture(2L, "스프링 배치", "강사", "인프런"));
+        searchIndexService.onIndexEvent(SearchIndexEvent.removed(SearchType.LECTURE, 2L));
+        searchIndexService.refresh();
+
+        SearchResultResponse result = searchIndexService.search("스프링", SearchType.LECTURE, 0, 10);
+
+        assertThat(result.getHits()).extracting(SearchHitResponse::getTitle).containsExactly("스프링 부트");
+    }
+
+    @Test
+    void uncommittedChangesAreSearchableAfterRefresh() throws IOException {
+        searchIndexService.onIndexEvent(SearchIndexEvent.ofLecture(1L, "스프링 입문", "강사", "인프런")); // commit-every(2) 전
+
+        searchIndexService.refresh();
+
+        assertThat(searchIndexService.search("스프링", null, 0, 10).getTotalCount()).isEqualTo(1);
+    }
+
+    @Test
+    void pagesByRelevance() throws IOException {
+        for (long id = 1; id <= 5; id++) {
+            searchIndexService.onIndexEvent(SearchIndexEvent.ofLecture(id, "스프링 " + id, "강사", "인프런"));
+        }
+        searchIndexService.refresh();
+
+        SearchResultResponse second = searchIndexService.search("스프링", null, 1, 2);
+        SearchResultResponse last = searchIndexService.search("스프링", null, 2, 2);
+
+        assertThat(second.getTotalCount()).isEqualTo(5);
+        assertThat(second.getHits()).hasSize(2);
+        assertThat(last.getHits()).hasSize(1);
+    }
+
+    @Test
+    void rejectsPagesBeyondResultWindow() throws IOException {
+        SearchController controller = new SearchController(searchIndexService);
+
+        ResponseEntity<ResponseMessage> lastAllowed = controller.search("스프링", null, 199, 50);
+        ResponseEntity<ResponseMessage> tooDeep = controller.search("스프링", null, 200, 50);
+        ResponseEntity<ResponseMessage> overflow = controller.search("스프링", null, Integer.MAX_VALUE, 50);
+
+        assertThat(lastAllowed.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(tooDeep.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(overflow.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+}
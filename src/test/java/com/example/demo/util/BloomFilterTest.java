@@ -0,0 +1,65 @@
+package com.example.demo.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+    private static List<String> hashes(String prefix, int count) {
+        List<String> hashes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            hashes.add(UrlCanonicalizer.canonicalHash("https://example.com/" + prefix + "/" + i));
+        }
+        return hashes;
+    }
+
+    @Test
+    void containsEveryPutHash() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        List<String> added = hashes("added", 1000);
+        added.forEach(filter::put);
+
+        assertThat(added).allMatch(filter::mightContain);
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+
+        assertThat(hashes("absent", 100)).noneMatch(filter::mightContain);
+    }
+
+    @Test
+    void falsePositiveRateStaysNearConfigured() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        hashes("added", 10_000).forEach(filter::put);
+
+        long falsePositives = hashes("absent", 10_000).stream().filter(filter::mightContain).count();
+
+        assertThat(falsePositives).isLessThan(300); // 1% 기준, 여유 있게 3%
+    }
+
+    @Test
+    void sizesBitsAndHashesFromExpectedInsertions() {
+        BloomFilter filter = new BloomFilter(100_000, 0.01);
+
+        // m = -n ln(p) / ln(2)^2 ~= 9.6 bits/element, k = m/n ln(2) ~= 7
+        assertThat(filter.getBitCount()).isBetween(958_000L, 958_600L);
+        assertThat(filter.getHashCount()).isEqualTo(7);
+    }
+
+    @Test
+    void concurrentPutsAreNotLost() {
+        BloomFilter filter = new BloomFilter(20_000, 0.01);
+        List<String> added = hashes("concurrent", 20_000);
+
+        IntStream.range(0, added.size()).parallel().forEach(i -> filter.put(added.get(i)));
+
+        assertThat(added).allMatch(filter::mightContain);
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.demo.util;
+
+import com.example.demo.JpaBatchConfig;
+import com.example.demo.QueryDslConfig;
+import com.example.demo.roadmap.RoadMap;
+import com.example.demo.roadmap.repository.RoadmapRepository;
+import com.example.demo.userPreferenceHashtag.UserHashtagPreferenceRepository;
+import com.example.demo.userPreferenceHashtag.UserPreferenceHashtag;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * RoadMap, UserPreferenceHashtag 의 saveAll 처리량(rows/s) - 실제 Hibernate 경로, Testcontainers MySQL
+ * 하위 클래스는 id 생성 방식만 다름 (PooledIdGenerationBenchmark: 현재 매핑, IdentityIdGenerationBenchmark: 변경 전 IDENTITY)
+ * batch 설정(JpaBatchConfig)은 둘 다 켜져 있음 -> IDENTITY 는 insert 마다 생성된 키를 받아야 해서 batch 가 안 되는 차이만 남음
+ * 실행 : ./gradlew benchmarkIdGeneration (Docker 필요, 일반 test 에서는 제외)
+ */
+@Tag("benchmark")
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({JpaBatchConfig.class, QueryDslConfig.class, IdSequenceInitializer.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // 저장마다 실제로 커밋
+@DirtiesContext // 두 방식이 같은 DB 에 서로 다른 스키마를 만들므로 끝나면 context 를 닫아서 drop
+abstract class IdGenerationBenchmark {
+    private static final int ROWS = 5000;
+    private static final int ROUNDS = 5;
+
+    @Autowired
+    private RoadmapRepository roadmapRepository;
+    @Autowired
+    private UserHashtagPreferenceRepository preferenceRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @DynamicPropertySource
+    static void mysql(DynamicPropertyRegistry registry) {
+        MySQLContainer<?> mysql = MySqlTestContainer.get();
+        registry.add("spring.datasource.url", mysql::getJdbcUrl);
+        registry.add("spring.datasource.username", mysql::getUsername);
+        registry.add("spring.datasource.password", mysql::getPassword);
+    }
+
+    abstract String idGeneration();
+
+    @Test
+    void roadmapSaveAll() {
+        measure("roadmaps", roadmapRepository, i -> RoadMap.builder().order(i).build());
+    }
+
+    @Test
+    void userPreferenceHashtagSaveAll() {
+        measure("user_preference_hashtags", preferenceRepository, i -> UserPreferenceHashtag.builder().build());
+    }
+
+    // 한 번 warm up 후 ROUNDS 번, 매번 ROWS 개를 saveAll 한 트랜잭션으로 커밋
+    private <T> void measure(String table, JpaRepository<T, Long> repository, IntFunction<T> entity) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        saveAll(transaction, repository, entity);
+
+        long elapsedNanos = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            elapsedNanos += saveAll(transaction, repository, entity);
+        }
+        double rowsPerSecond = (double) ROWS * ROUNDS / (elapsedNanos / 1e9);
+        System.out.printf("[id generation] %-8s %-25s %,10.0f rows/s (%d rows x %d rounds)%n",
+                idGeneration(), table, rowsPerSecond, ROWS, ROUNDS);
+
+        assertThat(repository.count()).isEqualTo((long) ROWS * (ROUNDS + 1));
+    }
+
+    private <T> long saveAll(TransactionTemplate transaction, JpaRepository<T, Long> repository, IntFunction<T> entity) {
+        List<T> entities = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            entities.add(entity.apply(i));
+        }
+        long start = System.nanoTime();
+        transaction.executeWithoutResult(status -> repository.saveAll(entities));
+        return System.nanoTime() - start;
+    }
+}
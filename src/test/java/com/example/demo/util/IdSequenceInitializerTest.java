@@ -0,0 +1,72 @@
+package com.example.demo.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Docker 가 없으면 건너뜀
+@Testcontainers(disabledWithoutDocker = true)
+class IdSequenceInitializerTest {
+    private JdbcTemplate jdbcTemplate;
+    private IdSequenceInitializer initializer;
+
+    @BeforeEach
+    void setUp() {
+        MySQLContainer<?> mysql = MySqlTestContainer.get();
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(mysql.getJdbcUrl(), mysql.getUsername(), mysql.getPassword()));
+        initializer = new IdSequenceInitializer(jdbcTemplate);
+        dropTables();
+        jdbcTemplate.execute("create table roadmaps (roadmap_id bigint not null auto_increment, primary key (roadmap_id))");
+        jdbcTemplate.execute("create table user_preference_hashtags (user_preference_tag_id bigint not null auto_increment, primary key (user_preference_tag_id))");
+    }
+
+    @AfterEach
+    void dropTables() {
+        jdbcTemplate.execute("drop table if exists roadmaps");
+        jdbcTemplate.execute("drop table if exists user_preference_hashtags");
+        jdbcTemplate.execute("drop table if exists " + IdSequenceInitializer.TABLE);
+    }
+
+    private long nextVal(String sequenceName) {
+        return jdbcTemplate.queryForObject("select " + IdSequenceInitializer.VALUE_COLUMN + " from " + IdSequenceInitializer.TABLE
+                + " where " + IdSequenceInitializer.PK_COLUMN + " = ?", Long.class, sequenceName);
+    }
+
+    @Test
+    void movesNextValPastMaxId() {
+        jdbcTemplate.update("insert into roadmaps (roadmap_id) values (3), (57), (120)"); // auto_increment 로 들어간 기존 row
+
+        initializer.afterSingletonsInstantiated();
+
+        // pooled optimizer 는 읽은 값 앞쪽 ALLOCATION_SIZE 구간을 쓰므로 그 구간도 max(id) 보다 커야 함
+        assertThat(nextVal("roadmaps") - IdSequenceInitializer.ALLOCATION_SIZE).isGreaterThan(120);
+        assertThat(nextVal("user_preference_hashtags") - IdSequenceInitializer.ALLOCATION_SIZE).isGreaterThan(0);
+    }
+
+    @Test
+    void neverMovesNextValBackwards() {
+        initializer.afterSingletonsInstantiated();
+        jdbcTemplate.update("update " + IdSequenceInitializer.TABLE + " set " + IdSequenceInitializer.VALUE_COLUMN + " = 1000");
+        jdbcTemplate.update("insert into roadmaps (roadmap_id) values (120)");
+
+        initializer.afterSingletonsInstantiated(); // 재시작
+
+        assertThat(nextVal("roadmaps")).isEqualTo(1000);
+    }
+
+    @Test
+    void failsStartupWhenAlignFails() {
+        jdbcTemplate.execute("drop table user_preference_hashtags");
+
+        assertThatThrownBy(() -> initializer.afterSingletonsInstantiated())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("user_preference_hashtags");
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.demo.util;
+
+import org.springframework.test.context.TestPropertySource;
+
+// 변경 전 매핑 - orm.xml 로 두 엔티티의 id 만 IDENTITY 로 덮어씀 (insert 마다 생성된 키를 받아서 batch 불가)
+@TestPropertySource(properties = "spring.jpa.mapping-resources=id-generation/identity-orm.xml")
+class IdentityIdGenerationBenchmark extends IdGenerationBenchmark {
+
+    @Override
+    String idGeneration() {
+        return "identity";
+    }
+}
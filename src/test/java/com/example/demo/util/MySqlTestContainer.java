@@ -0,0 +1,20 @@
+package com.example.demo.util;
+
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+// MySQL 이 필요한 테스트/벤치마크용 컨테이너 - JVM 당 한 번만 띄워서 같이 사용 (종료는 Testcontainers 가 처리)
+final class MySqlTestContainer {
+    private static MySQLContainer<?> container;
+
+    private MySqlTestContainer() {
+    }
+
+    static synchronized MySQLContainer<?> get() {
+        if (container == null) {
+            container = new MySQLContainer<>(DockerImageName.parse("mysql:8.0.28"));
+            container.start();
+        }
+        return container;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.demo.util;
+
+// 현재 매핑 - @TableGenerator(pooled) id, insert 는 JpaBatchConfig.BATCH_SIZE 개씩 batch
+class PooledIdGenerationBenchmark extends IdGenerationBenchmark {
+
+    @Override
+    String idGeneration() {
+        return "pooled";
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.demo.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UrlCanonicalizerTest {
+
+    @ParameterizedTest(name = "{0}")
+    @CsvSource({
+            "http://www.inflearn.com/course/spring/, https://inflearn.com/course/spring",
+            "HTTPS://WWW.Inflearn.com:443/course/spring#curriculum, https://inflearn.com/course/spring",
+            "https://m.youtube.com/watch?v=abc123&feature=share, https://youtube.com/watch?v=abc123",
+            "https://youtu.be/abc123?si=xyz, https://youtube.com/watch?v=abc123",
+            "https://www.youtube.com/embed/abc123, https://youtube.com/watch?v=abc123",
+            "https://youtube.com/shorts/abc123, https://youtube.com/watch?v=abc123",
+            "'https://www.youtube.com/watch?list=PL1&v=abc123&t=10', 'https://youtube.com/watch?list=PL1&v=abc123'",
+            "'https://fastcampus.co.kr/dev?utm_source=x&b=2&a=1&fbclid=y', 'https://fastcampus.co.kr/dev?a=1&b=2'",
+            "https://example.com:8080/course, https://example.com:8080/course",
+            "'https://example.com/course?si=2&ref=main', 'https://example.com/course?ref=main&si=2'",
+            "'https://www.udemy.com/course/java/?ranMID=1&ranSiteID=x&couponCode=SALE', 'https://udemy.com/course/java?couponCode=SALE'",
+            "'  https://example.com/course  ', https://example.com/course",
+    })
+    void canonicalize(String url, String expected) {
+        assertThat(UrlCanonicalizer.canonicalize(url)).isEqualTo(expected);
+    }
+
+    @Test
+    void keepsUrlWithoutHostAsIs() {
+        assertThat(UrlCanonicalizer.canonicalize("not a url")).isEqualTo("not a url");
+        assertThat(UrlCanonicalizer.canonicalize("/course/spring")).isEqualTo("/course/spring");
+        assertThat(UrlCanonicalizer.canonicalize(null)).isNull();
+    }
+
+    @Test
+    void sameLectureHasSameHash() {
+        String hash = UrlCanonicalizer.canonicalHash("https://youtu.be/abc123");
+
+        assertThat(hash).hasSize(64).matches("[0-9a-f]+");
+        assertThat(UrlCanonicalizer.canonicalHash("http://www.youtube.com/watch?v=abc123&utm_medium=social")).isEqualTo(hash);
+        assertThat(UrlCanonicalizer.canonicalHash("https://youtube.com/watch?v=other")).isNotEqualTo(hash);
+        assertThat(UrlCanonicalizer.canonicalHash(null)).isNull();
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.demo.util.crawl;
+
+import com.example.demo.hashtag.HashtagMatcher;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+/**
+ * 저장해둔 강의 페이지(crawler-fixtures/*.html)로 사이트별 파서를 네트워크 없이 실행
+ * expected.properties 의 제목/강사/썸네일/해시태그와 비교해서 파서가 깨졌는지 확인
+ * LecturePageParserFixtureTest 와 src/jmh 의 벤치마크가 같이 사용
+ */
+public class CrawlFixtures {
+    public static final List<String> SITES = Collections.unmodifiableList(Arrays.asList(
+            "inflearn", "youtube", "nomadcoders", "spartacoding", "projectlion", "udemy", "fastcampus", "opentutorials"));
+
+    private static final String DIR = "/crawler-fixtures/";
+    private static final String NOMADCODERS_COURSES = "nomadcoders-courses";
+
+    private final Properties expected = new Properties();
+    private final HashtagMatcher matcher;
+    private final LecturePageParser parser;
+
+    public CrawlFixtures() {
+        try (InputStream in = open("expected.properties")) {
+            expected.load(new InputStreamReader(in, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        matcher = new HashtagMatcher(readLines("hashtags.txt"));
+        parser = new LecturePageParser(matcher::findIn);
+    }
+
+    public String html(String site) {
+        return String.join("\n", readAllLines(site + ".html"));
+    }
+
+    public String url(String site) {
+        return expected.getProperty(site + ".url");
+    }
+
+    public Document document(String site) {
+        return Jsoup.parse(html(site), url(site));
+    }
+
+    public Document nomadcodersCourses() {
+        return Jsoup.parse(html(NOMADCODERS_COURSES), LecturePageParser.NOMADCODERS_COURSES_URL);
+    }
+
+    public LecturePageParser getParser() {
+        return parser;
+    }
+
+    // 사이트별 파서 실행, base 는 nomadcoders 에서만 사용 (강의 목록 페이지)
+    public CrawledLecture parse(String site, Document document, Document base) {
+        switch (site) {
+            case "inflearn": return parser.inflearn(document);
+            case "youtube": return parser.youtube(document);
+            case "nomadcoders": return parser.nomadcoders(document, base, url(site));
+            case "spartacoding": return parser.spartaCoding(document);
+            case "projectlion": return parser.projectlion(document);
+            case "udemy": return parser.udemy(document);
+            case "fastcampus": return parser.fastcampus(document);
+            case "opentutorials": return parser.codingEverybody(document);
+            default: throw new IllegalArgumentException("unknown fixture site - " + site);
+        }
+    }
+
+    // 기대값과 다른 항목 목록 (비어 있으면 통과)
+    public List<String> verify(String site, CrawledLecture crawled) {
+        List<String> mismatches = new ArrayList<>();
+        check(mismatches, site, "title", crawled.getLectureTitle());
+        check(mismatches, site, "lecturer", crawled.getLecturer());
+        check(mismatches, site, "thumbnail", crawled.getThumbnailUrl());
+        check(mismatches, site, "siteName", crawled.getSiteName());
+        check(mismatches, site, "hashtags", String.join(",", crawled.getHashtags()));
+        return mismatches;
+    }
+
+    public List<String> verify(String site) {
+        return verify(site, parse(site, document(site), nomadcodersCourses()));
+    }
+
+    private void check(List<String> mismatches, String site, String field, String actual) {
+        String want = expected.getProperty(site + "." + field);
+        if (!Objects.equals(want, actual)) {
+            mismatches.add(site + "." + field + " expected <" + want + "> but was <" + actual + ">");
+        }
+    }
+
+    private List<String> readLines(String name) {
+        return readAllLines(name).stream()
+                .map(String::trim)
+                .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                .collect(Collectors.toList());
+    }
+
+    private List<String> readAllLines(String name) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(open(name), StandardCharsets.UTF_8))) {
+            return reader.lines().collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private InputStream open(String name) {
+        InputStream in = CrawlFixtures.class.getResourceAsStream(DIR + name);
+        if (in == null) {
+            throw new IllegalStateException("fixture not found - " + DIR + name);
+        }
+        return in;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.demo.util.crawl;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 저장해둔 사이트별 강의 페이지로 파서 결과(제목/강사/썸네일/사이트명/해시태그) 확인 - 네트워크 없이 실행
+class LecturePageParserFixtureTest {
+    private static final CrawlFixtures fixtures = new CrawlFixtures();
+
+    static Stream<String> sites() {
+        return CrawlFixtures.SITES.stream();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("sites")
+    void parsesSavedPage(String site) {
+        assertThat(fixtures.verify(site)).isEmpty();
+    }
+}